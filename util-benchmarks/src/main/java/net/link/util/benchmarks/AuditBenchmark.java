@@ -0,0 +1,46 @@
+package net.link.util.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import net.link.util.logging.Logger;
+import org.openjdk.jmh.annotations.*;
+
+
+/**
+ * Compares logging audit events as formatted messages through the logging configuration with logging them as structured {@link
+ * net.link.util.logging.AuditEvent}s to a dedicated audit file, durably (every event synced) or not.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+public class AuditBenchmark {
+
+    static final Logger logger = Logger.get( AuditBenchmark.class );
+
+    private String user    = "user";
+    private String address = "127.0.0.1";
+    private int    count   = 42;
+
+    @Benchmark
+    @Fork(1)
+    public Logger auditMessage() {
+
+        return logger.audit( "Login of %s from %s, attempt %d.", user, address, count );
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-D" + Logger.AUDIT_FILE_PROPERTY + "=target/audit.log")
+    public void auditEventDurable() {
+
+        logger.auditEvent( "login" ).with( "user", user ).with( "address", address ).with( "attempt", count ).log();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = { "-D" + Logger.AUDIT_FILE_PROPERTY + "=target/audit.log", "-D" + Logger.AUDIT_DURABLE_PROPERTY + "=false" })
+    public void auditEventNotDurable() {
+
+        logger.auditEvent( "login" ).with( "user", user ).with( "address", address ).with( "attempt", count ).log();
+    }
+}
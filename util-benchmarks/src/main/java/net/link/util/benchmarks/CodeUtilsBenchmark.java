@@ -0,0 +1,87 @@
+package net.link.util.benchmarks;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.link.util.util.CodeUtils;
+import org.openjdk.jmh.annotations.*;
+
+
+/**
+ * Measures the hex and base64 codecs of {@link CodeUtils} on payloads of varying size, base64 both through strings and between buffers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodeUtilsBenchmark {
+
+    @Param({ "16", "1024", "65536" })
+    private int size;
+
+    private byte[]     data;
+    private String     hex;
+    private String     base64;
+    private ByteBuffer dataBuffer;
+    private CharBuffer base64Buffer;
+
+    @Setup
+    public void setup() {
+
+        data = new byte[size];
+        new Random( size ).nextBytes( data );
+        hex = CodeUtils.encodeHex( data );
+        base64 = CodeUtils.encodeBase64( data );
+        dataBuffer = ByteBuffer.allocate( size );
+        base64Buffer = CharBuffer.allocate( CodeUtils.base64Length( size ) );
+    }
+
+    @Benchmark
+    public String encodeHex() {
+
+        return CodeUtils.encodeHex( data );
+    }
+
+    @Benchmark
+    public String encodeHexPretty() {
+
+        return CodeUtils.encodeHex( data, true );
+    }
+
+    @Benchmark
+    public byte[] decodeHex() {
+
+        return CodeUtils.decodeHex( hex );
+    }
+
+    @Benchmark
+    public String encodeBase64() {
+
+        return CodeUtils.encodeBase64( data );
+    }
+
+    @Benchmark
+    public byte[] decodeBase64() {
+
+        return CodeUtils.decodeBase64ToBytes( base64 );
+    }
+
+    @Benchmark
+    public CharBuffer encodeBase64Buffer() {
+
+        base64Buffer.clear();
+        CodeUtils.encodeBase64( ByteBuffer.wrap( data ), base64Buffer );
+        return base64Buffer;
+    }
+
+    @Benchmark
+    public ByteBuffer decodeBase64Buffer() {
+
+        dataBuffer.clear();
+        CodeUtils.decodeBase64( CharBuffer.wrap( base64 ), dataBuffer );
+        return dataBuffer;
+    }
+}
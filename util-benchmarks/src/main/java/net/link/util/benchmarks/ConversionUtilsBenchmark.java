@@ -0,0 +1,55 @@
+package net.link.util.benchmarks;
+
+import com.google.common.base.Optional;
+import java.util.concurrent.TimeUnit;
+import net.link.util.util.ConversionUtils;
+import org.openjdk.jmh.annotations.*;
+
+
+/**
+ * Measures {@link ConversionUtils} conversions of well-formed and malformed request-parameter-like values.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversionUtilsBenchmark {
+
+    private String  validLong       = "1234567890";
+    private String  malformedLong   = "12345x";
+    private String  validDouble     = "1234.5678";
+    private String  malformedDouble = "12.34.56";
+    private Integer number          = 42;
+
+    @Benchmark
+    public long toLongNNValid() {
+
+        return ConversionUtils.toLongNN( validLong );
+    }
+
+    @Benchmark
+    public long toLongNNMalformed() {
+
+        return ConversionUtils.toLongNN( malformedLong );
+    }
+
+    @Benchmark
+    public Optional<Long> toLongNumber() {
+
+        return ConversionUtils.toLong( number );
+    }
+
+    @Benchmark
+    public double toDoubleNNValid() {
+
+        return ConversionUtils.toDoubleNN( validDouble );
+    }
+
+    @Benchmark
+    public Optional<Double> toDoubleMalformed() {
+
+        return ConversionUtils.toDouble( malformedDouble );
+    }
+}
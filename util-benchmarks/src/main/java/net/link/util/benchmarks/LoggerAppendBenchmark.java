@@ -0,0 +1,45 @@
+package net.link.util.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import net.link.util.logging.Logger;
+import org.openjdk.jmh.annotations.*;
+
+
+/**
+ * Measures the cost to the logging threads of {@link Logger} events that are enabled and appended to a file, with and without {@link
+ * Logger#ASYNC_PROPERTY asynchronous logging}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+public class LoggerAppendBenchmark {
+
+    static final Logger logger = Logger.get( LoggerAppendBenchmark.class );
+
+    private int    count = 42;
+    private String name  = "name";
+
+    @Benchmark
+    @Fork(1)
+    public Logger infoSynchronous() {
+
+        return logger.inf( "Visited %s %d times.", name, count );
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-D" + Logger.ASYNC_PROPERTY + "=true")
+    public Logger infoAsynchronous() {
+
+        return logger.inf( "Visited %s %d times.", name, count );
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = { "-D" + Logger.ASYNC_PROPERTY + "=true", "-D" + Logger.ASYNC_OVERFLOW_PROPERTY + "=DROP" })
+    public Logger infoAsynchronousDropping() {
+
+        return logger.inf( "Visited %s %d times.", name, count );
+    }
+}
@@ -0,0 +1,71 @@
+package net.link.util.benchmarks;
+
+import com.google.common.base.Supplier;
+import java.util.concurrent.TimeUnit;
+import net.link.util.logging.LazyArgument;
+import net.link.util.logging.Logger;
+import org.openjdk.jmh.annotations.*;
+
+
+/**
+ * Measures the cost of {@link Logger} calls at levels that are disabled by the benchmark's logging configuration.
+ * <p/>
+ * Run with {@code -prof gc} to see what the calls allocate: only the calls with more than four arguments should allocate anything.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggerBenchmark {
+
+    static final Logger logger = Logger.get( LoggerBenchmark.class );
+
+    private final Exception            cause     = new Exception( "cause" );
+    private       int                  count     = 42;
+    private       String               name      = "name";
+    private final LazyArgument<String> expensive = LazyArgument.of( new Supplier<String>() {
+        @Override
+        public String get() {
+
+            return String.valueOf( System.nanoTime() );
+        }
+    } );
+
+    @Benchmark
+    public Logger traceWithoutArguments() {
+
+        return logger.trc( "Nothing to see here." );
+    }
+
+    @Benchmark
+    public Logger traceWithArguments() {
+
+        return logger.trc( "Visited %s %d times.", name, count );
+    }
+
+    @Benchmark
+    public Logger debugWithCause() {
+
+        return logger.dbg( cause, "Failed for %s after %d attempts.", name, count );
+    }
+
+    @Benchmark
+    public Logger traceWithFourArguments() {
+
+        return logger.trc( "Visited %s %s %s %s times.", name, name, name, name );
+    }
+
+    @Benchmark
+    public Logger traceWithFiveArguments() {
+
+        return logger.trc( "Visited %s %s %s %s %s times.", name, name, name, name, name );
+    }
+
+    @Benchmark
+    public Logger traceWithLazyArgument() {
+
+        return logger.trc( "Visited %s at %s.", name, expensive );
+    }
+}
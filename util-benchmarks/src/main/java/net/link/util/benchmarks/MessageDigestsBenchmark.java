@@ -0,0 +1,40 @@
+package net.link.util.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.link.util.util.MessageDigests;
+import org.openjdk.jmh.annotations.*;
+
+
+/**
+ * Measures digesting byte arrays of varying size with {@link MessageDigests#of(byte[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageDigestsBenchmark {
+
+    @Param({ "MD5", "SHA1", "SHA256" })
+    private MessageDigests digest;
+
+    @Param({ "64", "4096", "1048576" })
+    private int size;
+
+    private byte[] data;
+
+    @Setup
+    public void setup() {
+
+        data = new byte[size];
+        new Random( size ).nextBytes( data );
+    }
+
+    @Benchmark
+    public byte[] of() {
+
+        return digest.of( data );
+    }
+}
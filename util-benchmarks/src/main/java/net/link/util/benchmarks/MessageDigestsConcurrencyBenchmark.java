@@ -0,0 +1,75 @@
+package net.link.util.benchmarks;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.link.util.util.MessageDigests;
+import org.openjdk.jmh.annotations.*;
+
+
+/**
+ * Measures digesting a short message with {@link MessageDigests#of(byte[])} from 1, 8 and 32 concurrent threads, against looking up a new
+ * {@link MessageDigest} for each message.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageDigestsConcurrencyBenchmark {
+
+    private final byte[] data = new byte[64];
+
+    @Setup
+    public void setup() {
+
+        new Random( data.length ).nextBytes( data );
+    }
+
+    @Benchmark
+    @Threads(1)
+    public byte[] of1Thread() {
+
+        return MessageDigests.SHA256.of( data );
+    }
+
+    @Benchmark
+    @Threads(8)
+    public byte[] of8Threads() {
+
+        return MessageDigests.SHA256.of( data );
+    }
+
+    @Benchmark
+    @Threads(32)
+    public byte[] of32Threads() {
+
+        return MessageDigests.SHA256.of( data );
+    }
+
+    @Benchmark
+    @Threads(1)
+    public byte[] getInstance1Thread()
+            throws NoSuchAlgorithmException {
+
+        return MessageDigest.getInstance( MessageDigests.SHA256.getJCAName() ).digest( data );
+    }
+
+    @Benchmark
+    @Threads(8)
+    public byte[] getInstance8Threads()
+            throws NoSuchAlgorithmException {
+
+        return MessageDigest.getInstance( MessageDigests.SHA256.getJCAName() ).digest( data );
+    }
+
+    @Benchmark
+    @Threads(32)
+    public byte[] getInstance32Threads()
+            throws NoSuchAlgorithmException {
+
+        return MessageDigest.getInstance( MessageDigests.SHA256.getJCAName() ).digest( data );
+    }
+}
@@ -0,0 +1,100 @@
+package net.link.util.benchmarks;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.link.util.util.*;
+import org.openjdk.jmh.annotations.*;
+
+
+/**
+ * Measures the {@link ObjectMeta} utilities of {@link ObjectUtils} on equivalent objects whose meta access is reflective and generated
+ * ({@link GeneratedMeta}), and the description of nested collections.
+ * <p/>
+ * On Java 9 and later, the generated accessors can only be defined when the forked JVM is given {@code
+ * -jvmArgsAppend --add-opens=java.base/java.lang=ALL-UNNAMED}; without it, the generated benchmarks fall back to reflection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ObjectUtilsBenchmark {
+
+    private final ReflectedObject reflected      = new ReflectedObject();
+    private final ReflectedObject otherReflected = new ReflectedObject();
+    private final GeneratedObject generated      = new GeneratedObject();
+    private final GeneratedObject otherGenerated = new GeneratedObject();
+    private final Object          nested         = ImmutableMap.of( "names", ImmutableList.of( "a", "b", "c" ), //
+                                                                    "values", new Object[]{ 1, 2L, 3.0, new int[]{ 4, 5 } }, //
+                                                                    "meta", reflected );
+
+    @Benchmark
+    public int hashCodeReflected() {
+
+        return ObjectUtils.hashCode( reflected );
+    }
+
+    @Benchmark
+    public int hashCodeGenerated() {
+
+        return ObjectUtils.hashCode( generated );
+    }
+
+    @Benchmark
+    public boolean equalsReflected() {
+
+        return ObjectUtils.equals( reflected, otherReflected );
+    }
+
+    @Benchmark
+    public boolean equalsGenerated() {
+
+        return ObjectUtils.equals( generated, otherGenerated );
+    }
+
+    @Benchmark
+    public String toStringReflected() {
+
+        return ObjectUtils.toString( reflected );
+    }
+
+    @Benchmark
+    public String toStringGenerated() {
+
+        return ObjectUtils.toString( generated );
+    }
+
+    @Benchmark
+    public String describe() {
+
+        return ObjectUtils.describe( nested );
+    }
+
+    @SuppressWarnings("UnusedDeclaration")
+    private static class ReflectedObject extends MetaObject {
+
+        private final int          count  = 7;
+        private final long         big    = 1L << 40 | 5;
+        private final boolean      flag   = true;
+        private final double       amount = -2.25;
+        private final String       name   = "name";
+        private final List<String> names  = Arrays.asList( "a", "b", "c" );
+    }
+
+
+    @GeneratedMeta
+    @SuppressWarnings("UnusedDeclaration")
+    private static class GeneratedObject extends MetaObject {
+
+        private final int          count  = 7;
+        private final long         big    = 1L << 40 | 5;
+        private final boolean      flag   = true;
+        private final double       amount = -2.25;
+        private final String       name   = "name";
+        private final List<String> names  = Arrays.asList( "a", "b", "c" );
+    }
+}
@@ -0,0 +1,50 @@
+package net.link.util.benchmarks;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Function;
+import com.google.common.base.Functions;
+import com.google.common.collect.ImmutableMap;
+import java.util.concurrent.TimeUnit;
+import net.link.util.util.StringUtils;
+import org.openjdk.jmh.annotations.*;
+
+
+/**
+ * Measures the expansion of key references in {@link StringUtils#expand(String, String, Function)} and the constant time comparison of
+ * tokens.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringUtilsBenchmark {
+
+    private static final String                   TEMPLATE   = "Dear ${title:} ${name}, your order ${order} ships to ${city} on ${date:today}.";
+    private static final Function<String, String> EXPANSIONS = Functions.forMap( ImmutableMap.of( //
+            "name", "Jane Doe", "order", "#4711", "city", "Ghent" ), null );
+
+    private final String token      = "1hYw6zNbQ2cX8kD0vR5tL3mJ9pF7sG4a";
+    private final String otherToken = new String( token.toCharArray() );
+    private final byte[] mac        = token.getBytes( Charsets.US_ASCII );
+    private final byte[] otherMac   = otherToken.getBytes( Charsets.US_ASCII );
+
+    @Benchmark
+    public String expand() {
+
+        return StringUtils.expand( TEMPLATE, "$", EXPANSIONS );
+    }
+
+    @Benchmark
+    public boolean isEqualConstantString() {
+
+        return StringUtils.isEqualConstant( token, otherToken );
+    }
+
+    @Benchmark
+    public boolean isEqualConstantBytes() {
+
+        return StringUtils.isEqualConstant( mac, otherMac );
+    }
+}
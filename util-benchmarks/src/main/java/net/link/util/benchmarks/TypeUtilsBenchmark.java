@@ -0,0 +1,187 @@
+package net.link.util.benchmarks;
+
+import com.google.common.base.Function;
+import java.lang.annotation.*;
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+import net.link.util.util.TypeUtils;
+import net.link.util.util.TypeUtils.LastResult;
+import net.sf.cglib.proxy.Enhancer;
+import net.sf.cglib.proxy.NoOp;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.*;
+
+
+/**
+ * Measures the annotation lookups, hierarchy traversals and class name resolution of {@link TypeUtils}.
+ * <p/>
+ * The annotation lookups search a hierarchy of the given depth: {@link Leaf}'s, extended with generated subclasses.  The uncached
+ * lookups walk the hierarchy on each call, like {@link TypeUtils#findAnnotation(Class, Class)} did before it remembered its results.
+ * On Java 9 and later, the subclasses can only be generated when the forked JVM is given {@code
+ * -jvmArgsAppend --add-opens=java.base/java.lang=ALL-UNNAMED}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TypeUtilsBenchmark {
+
+    private static final String MISSING_TYPE = "net.link.util.benchmarks.Missing";
+
+    /**
+     * The number of classes in the searched hierarchy, not counting {@link Object}.
+     */
+    @Param({ "3", "10", "30" })
+    private int depth;
+
+    private final Leaf leaf = new Leaf();
+
+    private Class<?> type;
+
+    @Setup
+    public void setup() {
+
+        type = Leaf.class;
+        for (int d = 3; d < depth; ++d) {
+            Enhancer enhancer = new Enhancer();
+            enhancer.setSuperclass( type );
+            enhancer.setCallbackType( NoOp.class );
+            type = enhancer.createClass();
+        }
+    }
+
+    @Benchmark
+    public Marked findAnnotationHit() {
+
+        return TypeUtils.findAnnotation( type, Marked.class );
+    }
+
+    @Benchmark
+    public Unused findAnnotationMiss() {
+
+        return TypeUtils.findAnnotation( type, Unused.class );
+    }
+
+    @Benchmark
+    public Marked findAnnotationHitUncached() {
+
+        return searchAnnotation( type, Marked.class );
+    }
+
+    @Benchmark
+    public Unused findAnnotationMissUncached() {
+
+        return searchAnnotation( type, Unused.class );
+    }
+
+    @Benchmark
+    public Object getAnnotations() {
+
+        return TypeUtils.getAnnotations( Leaf.class, Marked.class );
+    }
+
+    @Benchmark
+    public Integer forEachFieldOf() {
+
+        return TypeUtils.forEachFieldOf( Leaf.class, new Function<LastResult<Field, Integer>, Integer>() {
+            @Override
+            public Integer apply(final LastResult<Field, Integer> from) {
+
+                return from.getLastResult() + 1;
+            }
+        }, 0, true );
+    }
+
+    @Benchmark
+    public Field findFirstField() {
+
+        return TypeUtils.findFirstField( leaf, "root" );
+    }
+
+    @Benchmark
+    public Class<?> findClassHit() {
+
+        return TypeUtils.findClass( Leaf.class.getName() );
+    }
+
+    @Benchmark
+    public Class<?> findClassMiss() {
+
+        return TypeUtils.findClass( MISSING_TYPE );
+    }
+
+    @Benchmark
+    public Object newInstanceByName() {
+
+        return TypeUtils.newInstance( Leaf.class.getName() );
+    }
+
+    /**
+     * The recursive walk that {@link TypeUtils#findAnnotation(Class, Class)} did on every call before it remembered its results.
+     */
+    @Nullable
+    private static <A extends Annotation> A searchAnnotation(final Class<?> type, final Class<A> annotationType) {
+
+        A annotation = type.getAnnotation( annotationType );
+        if (annotation != null)
+            return annotation;
+
+        for (final Class<?> subType : type.getInterfaces()) {
+            annotation = searchAnnotation( subType, annotationType );
+            if (annotation != null)
+                return annotation;
+        }
+        if (type.getSuperclass() != null) {
+            annotation = searchAnnotation( type.getSuperclass(), annotationType );
+            if (annotation != null)
+                return annotation;
+        }
+
+        return null;
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.TYPE)
+    public @interface Marked {
+
+    }
+
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.TYPE)
+    public @interface Unused {
+
+    }
+
+
+    @Marked
+    public interface Root {
+
+    }
+
+
+    @SuppressWarnings("UnusedDeclaration")
+    public static class Base implements Root {
+
+        private final String root  = "root";
+        private final int    depth = 0;
+    }
+
+
+    @SuppressWarnings("UnusedDeclaration")
+    public static class Middle extends Base {
+
+        private final String middle = "middle";
+        private final long   size   = 1;
+    }
+
+
+    @SuppressWarnings("UnusedDeclaration")
+    public static class Leaf extends Middle {
+
+        private final String leaf  = "leaf";
+        private final double ratio = 0.5;
+    }
+}
@@ -0,0 +1,273 @@
+package net.link.util.logging;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
+
+
+/**
+ * Hands {@link Logger} events to a background thread that formats and emits them.
+ * <p/>
+ * Events are captured in a ring of slots that is allocated once.  Logging threads claim a sequence number, fill the slot for it and
+ * publish it; a single consumer thread emits published slots in sequence order and then releases them for reuse.  Nothing is formatted
+ * on the logging thread.
+ * <p/>
+ * The consumer is a daemon thread; a shutdown hook gives it a few seconds to emit what is still buffered when the VM exits.  Events that
+ * fail to format or emit are counted and reported, they don't stop the consumer.  Should the consumer die anyway, events are emitted on
+ * the logging thread from then on.
+ */
+final class AsyncAppender {
+
+    private static final int  BUFFER_SIZE         = Integer.highestOneBit(
+            Math.max( 2, Integer.getInteger( Logger.ASYNC_BUFFER_SIZE_PROPERTY, 8192 ) - 1 ) ) << 1;
+    private static final int  MASK                = BUFFER_SIZE - 1;
+    private static final int  SAMPLE_THRESHOLD    = BUFFER_SIZE / 4 * 3;
+    private static final int  SAMPLE_RATE         = Math.max( 1, Integer.getInteger( Logger.ASYNC_SAMPLE_RATE_PROPERTY, 10 ) );
+    private static final long IDLE_NANOS          = TimeUnit.MILLISECONDS.toNanos( 10 );
+    private static final long WAIT_NANOS          = TimeUnit.MICROSECONDS.toNanos( 50 );
+    private static final long SHUTDOWN_WAIT_NANOS = TimeUnit.SECONDS.toNanos( 5 );
+    private static final long STOPPED             = -2;
+
+    private static final AsyncOverflow overflow = overflow();
+    private static final Slot[]        slots    = new Slot[BUFFER_SIZE];
+    private static final AtomicLong    claimed  = new AtomicLong();
+    private static final AtomicLong    consumed = new AtomicLong();
+    private static final AtomicLong    offered  = new AtomicLong();
+    private static final AtomicLong    dropped  = new AtomicLong();
+    private static final AtomicLong    failed   = new AtomicLong();
+    private static final Thread        consumer = new Thread( new Consumer(), "net.link.util.logging.async" );
+
+    private static volatile boolean idle;
+    private static volatile boolean stopped;
+
+    static {
+        for (int s = 0; s < BUFFER_SIZE; ++s)
+            slots[s] = new Slot( s - BUFFER_SIZE );
+
+        consumer.setDaemon( true );
+        consumer.start();
+
+        Runtime.getRuntime().addShutdownHook( new Thread( "net.link.util.logging.async.shutdown" ) {
+            @Override
+            public void run() {
+
+                flush( SHUTDOWN_WAIT_NANOS );
+            }
+        } );
+    }
+
+    private static AsyncOverflow overflow() {
+
+        String overflow = System.getProperty( Logger.ASYNC_OVERFLOW_PROPERTY );
+        if (overflow == null)
+            return AsyncOverflow.BLOCK;
+
+        try {
+            return AsyncOverflow.valueOf( overflow.trim().toUpperCase() );
+        }
+        catch (final IllegalArgumentException e) {
+            LoggerFactory.getLogger( AsyncAppender.class )
+                         .warn( String.format( "Invalid value for %s: %s, using: %s", Logger.ASYNC_OVERFLOW_PROPERTY, overflow,
+                                 AsyncOverflow.BLOCK ) );
+            return AsyncOverflow.BLOCK;
+        }
+    }
+
+    /**
+     * Queue an event for the consumer, or drop it according to the overflow policy.  The level must already be known to be enabled.
+     * <p/>
+     * Events logged by the consumer itself (eg. from an argument's {@code toString}) are emitted immediately since it cannot wait for
+     * itself.  So are all events once the consumer has stopped.
+     */
+    static void append(final org.slf4j.Logger logger, final LogLevel level, @Nullable final Marker marker, @Nullable final Throwable cause,
+                       final String descriptionFormat, @Nullable final Object[] descriptionArguments) {
+
+        if (stopped || Thread.currentThread() == consumer) {
+            level.log( logger, marker, cause, LogLevel.format( descriptionFormat, descriptionArguments ) );
+            return;
+        }
+
+        long sequence = claim( Markers.mustKeep( marker )? AsyncOverflow.BLOCK: overflow );
+        if (sequence == STOPPED) {
+            level.log( logger, marker, cause, LogLevel.format( descriptionFormat, descriptionArguments ) );
+            return;
+        }
+        if (sequence < 0) {
+            dropped.incrementAndGet();
+            return;
+        }
+
+        Slot slot = slots[(int) (sequence & MASK)];
+        slot.logger = logger;
+        slot.level = level;
+        slot.marker = marker;
+        slot.cause = cause;
+        slot.descriptionFormat = descriptionFormat;
+        slot.descriptionArguments = descriptionArguments;
+        slot.sequence = sequence;
+
+        if (idle)
+            LockSupport.unpark( consumer );
+    }
+
+    /**
+     * @return The sequence of the slot claimed for a new event, {@code -1} if the overflow policy drops the event or {@link #STOPPED} if
+     * the buffer is full and the consumer has stopped.
+     */
+    private static long claim(final AsyncOverflow policy) {
+
+        if (policy == AsyncOverflow.SAMPLE && claimed.get() - consumed.get() >= SAMPLE_THRESHOLD
+            && offered.getAndIncrement() % SAMPLE_RATE != 0)
+            return -1;
+
+        while (true) {
+            long sequence = claimed.get();
+            if (sequence - consumed.get() >= BUFFER_SIZE) {
+                if (policy == AsyncOverflow.DROP)
+                    return -1;
+                if (stopped)
+                    return STOPPED;
+
+                LockSupport.unpark( consumer );
+                LockSupport.parkNanos( WAIT_NANOS );
+            } else if (claimed.compareAndSet( sequence, sequence + 1 ))
+                return sequence;
+        }
+    }
+
+    /**
+     * Wait until the consumer has emitted all events claimed before this call, or until the timeout passes.
+     *
+     * @param timeoutNanos How long to wait at most, or a negative value to wait for as long as it takes.
+     *
+     * @return {@code true} if all those events have been emitted.
+     */
+    static boolean flush(final long timeoutNanos) {
+
+        if (Thread.currentThread() == consumer)
+            return false;
+
+        long target = claimed.get();
+        long start = System.nanoTime();
+        while (consumed.get() < target && !stopped) {
+            if (timeoutNanos >= 0 && System.nanoTime() - start > timeoutNanos)
+                return false;
+
+            LockSupport.unpark( consumer );
+            LockSupport.parkNanos( WAIT_NANOS );
+        }
+
+        return true;
+    }
+
+    private static class Consumer implements Runnable {
+
+        private final org.slf4j.Logger logger = LoggerFactory.getLogger( AsyncAppender.class );
+
+        @Override
+        public void run() {
+
+            try {
+                consume();
+            }
+            finally {
+                stopped = true;
+                logger.error( "Asynchronous log consumer stopped, emitting events on the logging threads from now on." );
+            }
+        }
+
+        private void consume() {
+
+            long next = consumed.get();
+            while (true) {
+                Slot slot = slots[(int) (next & MASK)];
+                if (slot.sequence != next) {
+                    reportDropped();
+
+                    // Announce that we're going to sleep, then check once more so that a publish we raced with is not missed.
+                    idle = true;
+                    if (slot.sequence != next)
+                        LockSupport.parkNanos( this, IDLE_NANOS );
+                    idle = false;
+                    continue;
+                }
+
+                emit( slot );
+                slot.clear();
+                consumed.lazySet( ++next );
+
+                if ((next & MASK) == 0)
+                    reportDropped();
+            }
+        }
+
+        private void emit(final Slot slot) {
+
+            // Arguments and appenders are foreign code: whatever they throw must not take the consumer, and with it all further logging,
+            // down.  StackOverflowError is included for arguments with self-referencing toStrings.
+            String message;
+            Throwable formatFailure = null;
+            try {
+                message = LogLevel.format( slot.descriptionFormat, slot.descriptionArguments );
+            }
+            catch (final RuntimeException | StackOverflowError e) {
+                failed.incrementAndGet();
+                formatFailure = e;
+                message = slot.descriptionFormat;
+            }
+
+            try {
+                if (formatFailure != null)
+                    logger.warn( String.format( "Couldn't format asynchronous log event: %s", slot.descriptionFormat ), formatFailure );
+                slot.level.log( slot.logger, slot.marker, slot.cause, message );
+            }
+            catch (final RuntimeException | StackOverflowError ignored) {
+                // The appender itself is broken, there's no point in trying to log this through it.
+                failed.incrementAndGet();
+            }
+        }
+
+        private void reportDropped() {
+
+            long count = dropped.getAndSet( 0 );
+            if (count > 0)
+                logger.warn( String.format( "Asynchronous log buffer overflowed (%s: %s), dropped %d events.", //
+                        Logger.ASYNC_OVERFLOW_PROPERTY, overflow, count ) );
+
+            count = failed.getAndSet( 0 );
+            if (count > 0)
+                logger.warn( String.format( "%d asynchronous log events failed to format or emit.", count ) );
+        }
+    }
+
+
+    private static class Slot {
+
+        volatile long sequence;
+
+        org.slf4j.Logger logger;
+        LogLevel         level;
+        Marker           marker;
+        Throwable        cause;
+        String           descriptionFormat;
+        Object[]         descriptionArguments;
+
+        Slot(final long sequence) {
+
+            this.sequence = sequence;
+        }
+
+        void clear() {
+
+            logger = null;
+            level = null;
+            marker = null;
+            cause = null;
+            descriptionFormat = null;
+            descriptionArguments = null;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package net.link.util.logging;
+
+/**
+ * What an asynchronous {@link Logger} does with an event when its buffer has no room for it.  See {@link
+ * Logger#ASYNC_OVERFLOW_PROPERTY}.
+ * <p/>
+ * Events marked {@link Markers#AUDIT} or {@link Markers#BUG} are never dropped: they always {@link #BLOCK}.
+ */
+public enum AsyncOverflow {
+
+    /**
+     * Discard the event.  The consumer periodically logs how many events were discarded.
+     */
+    DROP,
+
+    /**
+     * Make the logging thread wait until the consumer has made room for the event.
+     */
+    BLOCK,
+
+    /**
+     * Once the buffer is three quarters full, keep only one out of every {@link Logger#ASYNC_SAMPLE_RATE_PROPERTY} events and discard
+     * the others.  The events that are kept wait for room like {@link #BLOCK}.
+     */
+    SAMPLE
+}
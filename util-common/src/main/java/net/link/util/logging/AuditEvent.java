@@ -0,0 +1,165 @@
+package net.link.util.logging;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Marker;
+
+
+/**
+ * A structured audit or security event, built up from key/value fields and logged with {@link #log()}.
+ * <p/>
+ * The event is encoded as a single line of JSON while its fields are added; no message string is formatted.  Besides its own fields, the
+ * event records {@code timestamp} (milliseconds since the epoch), {@code type} ({@code audit} or {@code security}), {@code logger},
+ * {@code event}, {@code thread} and, if there is one, {@code cause}.
+ * <p/>
+ * When {@link Logger#AUDIT_FILE_PROPERTY} names a file, events are appended to it regardless of the logging configuration.  Otherwise
+ * they are logged through SLF4J as the JSON line: audit events as info with the {@link Markers#AUDIT} marker, security events as warnings
+ * with the {@link Markers#SECURITY} marker.
+ * <p/>
+ * <pre>
+ * logger.auditEvent( "login" ).with( "user", userId ).with( "success", true ).log();
+ * </pre>
+ */
+public final class AuditEvent {
+
+    private static final ThreadLocal<JsonWriter> writers = new ThreadLocal<JsonWriter>() {
+        @Override
+        protected JsonWriter initialValue() {
+
+            return new JsonWriter();
+        }
+    };
+
+    private final Logger    logger;
+    private final LogLevel  level;
+    private final Marker    marker;
+    @Nullable
+    private final Throwable cause;
+    @Nullable
+    private       JsonWriter writer;
+    private       boolean    logged;
+
+    AuditEvent(final Logger logger, final LogLevel level, final Marker marker, @Nullable final Throwable cause, final String type,
+               final String event) {
+
+        this.logger = logger;
+        this.level = level;
+        this.marker = marker;
+        this.cause = cause;
+
+        // Events that will be neither written to the audit file nor logged are not encoded at all.
+        if (AuditSink.instance == null && !logger.isEnabled( level ))
+            return;
+
+        writer = writers.get();
+        if (writer.inUse)
+            // This thread is already building another event.
+            writer = new JsonWriter();
+        writer.inUse = true;
+
+        writer.beginObject();
+        writer.name( "timestamp" ).value( System.currentTimeMillis() );
+        writer.name( "type" ).value( type );
+        writer.name( "logger" ).value( logger.getName() );
+        writer.name( "event" ).value( event );
+        writer.name( "thread" ).value( Thread.currentThread().getName() );
+        if (cause != null)
+            writer.name( "cause" ).value( cause.toString() );
+    }
+
+    public AuditEvent with(final String key, @Nullable final CharSequence value) {
+
+        if (isEncoding())
+            writer.name( key ).value( value );
+
+        return this;
+    }
+
+    public AuditEvent with(final String key, final char value) {
+
+        if (isEncoding())
+            writer.name( key ).value( String.valueOf( value ) );
+
+        return this;
+    }
+
+    public AuditEvent with(final String key, final long value) {
+
+        if (isEncoding())
+            writer.name( key ).value( value );
+
+        return this;
+    }
+
+    public AuditEvent with(final String key, final double value) {
+
+        if (isEncoding())
+            writer.name( key ).value( value );
+
+        return this;
+    }
+
+    public AuditEvent with(final String key, final boolean value) {
+
+        if (isEncoding())
+            writer.name( key ).value( value );
+
+        return this;
+    }
+
+    /**
+     * Add a field whose value is encoded according to its type: numbers and booleans as such, everything else as its string
+     * representation.
+     */
+    public AuditEvent with(final String key, @Nullable final Object value) {
+
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte)
+            return with( key, ((Number) value).longValue() );
+        if (value instanceof Number)
+            return with( key, ((Number) value).doubleValue() );
+        if (value instanceof Boolean)
+            return with( key, ((Boolean) value).booleanValue() );
+        if (value instanceof CharSequence)
+            return with( key, (CharSequence) value );
+
+        return with( key, value == null? null: value.toString() );
+    }
+
+    /**
+     * Write the event to the audit file, or log it.  The event can't be changed after this.
+     *
+     * @throws IllegalStateException If the event was already logged.
+     */
+    public void log() {
+
+        boolean encoding = isEncoding();
+        logged = true;
+        if (!encoding)
+            return;
+
+        try {
+            writer.endObject();
+            if (AuditSink.instance == null || !AuditSink.instance.append( writer.bytes(), writer.length() ))
+                // Without the trailing newline.
+                logger.dispatch( level, marker, cause, new String( writer.bytes(), 0, writer.length() - 1, Charsets.UTF_8 ) );
+        }
+        finally {
+            // The writer goes back to the thread's pool, this event must not touch it anymore.
+            writer.inUse = false;
+            writer = null;
+        }
+    }
+
+    /**
+     * @return {@code true} if the event is being encoded, {@code false} if it won't be written or logged anyway.
+     *
+     * @throws IllegalStateException If the event was already logged.
+     */
+    private boolean isEncoding() {
+
+        Preconditions.checkState( !logged, "Audit event was already logged." );
+
+        return writer != null;
+    }
+}
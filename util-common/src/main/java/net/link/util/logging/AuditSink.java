@@ -0,0 +1,265 @@
+package net.link.util.logging;
+
+import com.google.common.base.Charsets;
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.jetbrains.annotations.Nullable;
+
+
+/**
+ * Appends encoded {@link AuditEvent}s to the file named by {@link Logger#AUDIT_FILE_PROPERTY}.
+ * <p/>
+ * Events are appended to a pending batch in the order they are logged.  A writer thread takes the whole pending batch, writes it and
+ * forces it to disk, so that all the events logged while the previous batch was being written share a single sync.  Unless {@link
+ * Logger#AUDIT_DURABLE_PROPERTY} is {@code false}, logging an event waits until the batch that holds it has been synced.
+ * <p/>
+ * A failed write is retried a few times.  If it keeps failing, if the file was closed, if the VM is shutting down or if the writer thread
+ * fails unexpectedly, the sink gives up for good: the events it couldn't write are logged as messages, and so are all events after them.
+ */
+final class AuditSink {
+
+    static final Logger logger = Logger.get( AuditSink.class );
+
+    private static final int  INITIAL_BATCH_SIZE  = 64 * 1024;
+    private static final int  MAX_BATCH_SIZE      = 16 * 1024 * 1024;
+    private static final long RETRY_MILLIS        = TimeUnit.SECONDS.toMillis( 1 );
+    private static final int  MAX_ATTEMPTS        = 10;
+    private static final long SHUTDOWN_WAIT_NANOS = TimeUnit.SECONDS.toNanos( 5 );
+
+    @Nullable
+    static final AuditSink instance = open();
+
+    private final ReentrantLock lock    = new ReentrantLock();
+    private final Condition     pending = lock.newCondition();
+    private final Condition     synced  = lock.newCondition();
+    private final FileChannel   channel;
+    private final boolean       durable;
+
+    private byte[] batch     = new byte[INITIAL_BATCH_SIZE];
+    private byte[] spare     = new byte[INITIAL_BATCH_SIZE];
+    private int    batchLength;
+    private long   appended;
+    private long   written;
+    @Nullable
+    private IOException failure;
+
+    private volatile boolean closing;
+
+    @Nullable
+    private static AuditSink open() {
+
+        String file = System.getProperty( Logger.AUDIT_FILE_PROPERTY );
+        if (file == null)
+            return null;
+
+        try {
+            final AuditSink sink = new AuditSink(
+                    FileChannel.open( Paths.get( file ), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND ),
+                    Boolean.parseBoolean( System.getProperty( Logger.AUDIT_DURABLE_PROPERTY, "true" ) ) );
+
+            Thread writer = new Thread( "net.link.util.logging.audit" ) {
+                @Override
+                public void run() {
+
+                    sink.write();
+                }
+            };
+            writer.setDaemon( true );
+            writer.start();
+
+            Runtime.getRuntime().addShutdownHook( new Thread( "net.link.util.logging.audit.shutdown" ) {
+                @Override
+                public void run() {
+
+                    sink.close( SHUTDOWN_WAIT_NANOS );
+                }
+            } );
+
+            return sink;
+        }
+        catch (final IOException | InvalidPathException e) {
+            logger.err( Markers.BUG, e, "Couldn't open audit file: %s, audit events will be logged as messages instead.", file );
+            return null;
+        }
+    }
+
+    private AuditSink(final FileChannel channel, final boolean durable) {
+
+        this.channel = channel;
+        this.durable = durable;
+    }
+
+    /**
+     * Append an encoded event to the pending batch and, if the sink is durable, wait until it has been synced to disk (or until the sink
+     * has failed and logged it instead).
+     *
+     * @return {@code false} if the sink has failed before the event could be appended; it is up to the caller to log the event instead.
+     */
+    boolean append(final byte[] bytes, final int length) {
+
+        long sequence;
+        lock.lock();
+        try {
+            // Don't let a stalled writer make the batch grow without bounds.
+            while (failure == null && batchLength > 0 && batchLength + length > MAX_BATCH_SIZE)
+                synced.awaitUninterruptibly();
+            if (failure != null)
+                return false;
+
+            if (batchLength + length > batch.length)
+                batch = Arrays.copyOf( batch, Math.max( batch.length * 2, batchLength + length ) );
+            System.arraycopy( bytes, 0, batch, batchLength, length );
+            batchLength += length;
+            sequence = ++appended;
+
+            pending.signal();
+            if (durable)
+                while (failure == null && written < sequence)
+                    synced.awaitUninterruptibly();
+
+            return true;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stop retrying failed writes, and wait for the events that were appended before this call to be synced.
+     */
+    private void close(final long timeoutNanos) {
+
+        closing = true;
+
+        lock.lock();
+        try {
+            long target = appended;
+            long remaining = timeoutNanos;
+            while (failure == null && written < target && remaining > 0)
+                remaining = synced.awaitNanos( remaining );
+        }
+        catch (final InterruptedException ignored) {
+            Thread.currentThread().interrupt();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    private void write() {
+
+        byte[] writing = spare;
+        int writingLength = 0;
+        try {
+            while (failure == null) {
+                long writingSequence;
+
+                lock.lock();
+                try {
+                    while (batchLength == 0)
+                        pending.awaitUninterruptibly();
+
+                    writing = batch;
+                    writingLength = batchLength;
+                    writingSequence = appended;
+                    batch = spare;
+                    batchLength = 0;
+                }
+                finally {
+                    lock.unlock();
+                }
+
+                ByteBuffer buffer = ByteBuffer.wrap( writing, 0, writingLength );
+                for (int attempt = 1; ; ++attempt)
+                    try {
+                        while (buffer.hasRemaining())
+                            channel.write( buffer );
+                        channel.force( false );
+                        break;
+                    }
+                    catch (final IOException e) {
+                        if (e instanceof ClosedChannelException || closing || attempt >= MAX_ATTEMPTS) {
+                            // If all bytes were written, it was the sync that failed: none of them are known to be on disk.
+                            int unwritten = 0;
+                            if (buffer.hasRemaining())
+                                for (unwritten = buffer.position(); unwritten > 0 && writing[unwritten - 1] != '\n'; )
+                                    --unwritten;
+
+                            fail( e, writing, unwritten, writingLength );
+                            return;
+                        }
+
+                        // Audit events must not get lost: keep what wasn't written yet and try again.
+                        logger.err( Markers.BUG, e, "Couldn't write to audit file, retrying %d bytes (attempt %d of %d).", //
+                                buffer.remaining(), attempt, MAX_ATTEMPTS );
+                        Uninterruptibles.sleepUninterruptibly( RETRY_MILLIS, TimeUnit.MILLISECONDS );
+                    }
+
+                lock.lock();
+                try {
+                    spare = writing;
+                    writingLength = 0;
+                    written = writingSequence;
+                    synced.signalAll();
+                }
+                finally {
+                    lock.unlock();
+                }
+            }
+        }
+        catch (final RuntimeException | Error e) {
+            // Don't leave the threads that wait for their events waiting for a writer that is gone.
+            fail( new IOException( "Audit file writer stopped unexpectedly.", e ), writing, 0, writingLength );
+            throw e;
+        }
+    }
+
+    /**
+     * Give up on the audit file: refuse further events, release the threads that wait for theirs and log the events that weren't written.
+     */
+    private void fail(final IOException e, final byte[] writing, final int unwritten, final int writingLength) {
+
+        byte[] pendingBatch;
+        int pendingLength;
+        lock.lock();
+        try {
+            failure = e;
+            pendingBatch = batch;
+            pendingLength = batchLength;
+            batchLength = 0;
+            synced.signalAll();
+        }
+        finally {
+            lock.unlock();
+        }
+
+        logger.err( Markers.BUG, e, "Couldn't write to audit file, audit events will be logged as messages instead." );
+        logLines( writing, unwritten, writingLength );
+        logLines( pendingBatch, 0, pendingLength );
+
+        try {
+            channel.close();
+        }
+        catch (final IOException ignored) {
+        }
+    }
+
+    private static void logLines(final byte[] bytes, final int from, final int to) {
+
+        for (int start = from, end; start < to; start = end + 1) {
+            end = start;
+            while (end < to && bytes[end] != '\n')
+                ++end;
+
+            logger.err( Markers.AUDIT, null, "Unwritten audit event: %s", new String( bytes, start, end - start, Charsets.UTF_8 ) );
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package net.link.util.logging;
+
+import java.util.Arrays;
+import org.jetbrains.annotations.Nullable;
+
+
+/**
+ * Encodes a flat JSON object straight into a reusable UTF-8 byte buffer.
+ */
+final class JsonWriter {
+
+    private static final byte[] HEX_DIGITS    = { '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f' };
+    private static final byte[] NULL          = { 'n', 'u', 'l', 'l' };
+    private static final byte[] TRUE          = { 't', 'r', 'u', 'e' };
+    private static final byte[] FALSE         = { 'f', 'a', 'l', 's', 'e' };
+    private static final byte[] LONG_MIN      = String.valueOf( Long.MIN_VALUE ).getBytes();
+    private static final int    INITIAL_SIZE  = 512;
+    private static final int    RETAINED_SIZE = 64 * 1024;
+
+    private byte[]  bytes = new byte[INITIAL_SIZE];
+    private int     length;
+    private boolean firstField;
+
+    boolean inUse;
+
+    /**
+     * Start a new object, discarding whatever was written before.
+     */
+    JsonWriter beginObject() {
+
+        if (bytes.length > RETAINED_SIZE)
+            bytes = new byte[INITIAL_SIZE];
+        length = 0;
+        firstField = true;
+
+        return write( (byte) '{' );
+    }
+
+    /**
+     * End the object and the line it is on.
+     */
+    JsonWriter endObject() {
+
+        return write( (byte) '}' ).write( (byte) '\n' );
+    }
+
+    JsonWriter name(final String name) {
+
+        if (!firstField)
+            write( (byte) ',' );
+        firstField = false;
+
+        return string( name ).write( (byte) ':' );
+    }
+
+    JsonWriter value(@Nullable final CharSequence value) {
+
+        return value == null? write( NULL ): string( value );
+    }
+
+    JsonWriter value(final long value) {
+
+        if (value == Long.MIN_VALUE)
+            return write( LONG_MIN );
+
+        long remaining = value;
+        if (remaining < 0) {
+            write( (byte) '-' );
+            remaining = -remaining;
+        }
+
+        int digits = 1;
+        for (long bound = 10; digits < 19 && remaining >= bound; bound *= 10)
+            ++digits;
+
+        ensure( digits );
+        for (int d = length + digits - 1; d >= length; --d) {
+            bytes[d] = (byte) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+        length += digits;
+
+        return this;
+    }
+
+    JsonWriter value(final double value) {
+
+        // JSON has no representation for NaN or the infinities.
+        if (Double.isNaN( value ) || Double.isInfinite( value ))
+            return write( NULL );
+        // The cast saturates, so only values within the range of long can be written as one.
+        if (Math.abs( value ) < 0x1p63 && value == (long) value)
+            return value( (long) value );
+
+        return ascii( Double.toString( value ) );
+    }
+
+    JsonWriter value(final boolean value) {
+
+        return write( value? TRUE: FALSE );
+    }
+
+    byte[] bytes() {
+
+        return bytes;
+    }
+
+    int length() {
+
+        return length;
+    }
+
+    private JsonWriter string(final CharSequence value) {
+
+        write( (byte) '"' );
+        for (int c = 0; c < value.length(); ++c) {
+            char ch = value.charAt( c );
+            if (ch == '"' || ch == '\\')
+                write( (byte) '\\' ).write( (byte) ch );
+            else if (ch < 0x20)
+                escape( ch );
+            else if (ch < 0x80)
+                write( (byte) ch );
+            else if (ch < 0x800)
+                write( (byte) (0xC0 | ch >> 6) ).write( (byte) (0x80 | ch & 0x3F) );
+            else if (Character.isHighSurrogate( ch ) && c + 1 < value.length() && Character.isLowSurrogate( value.charAt( c + 1 ) )) {
+                int codePoint = Character.toCodePoint( ch, value.charAt( ++c ) );
+                write( (byte) (0xF0 | codePoint >> 18) ).write( (byte) (0x80 | codePoint >> 12 & 0x3F) )
+                                                        .write( (byte) (0x80 | codePoint >> 6 & 0x3F) )
+                                                        .write( (byte) (0x80 | codePoint & 0x3F) );
+            } else if (Character.isSurrogate( ch ))
+                // A lone surrogate can't be encoded in UTF-8; keep it visible as an escape.
+                escape( ch );
+            else
+                write( (byte) (0xE0 | ch >> 12) ).write( (byte) (0x80 | ch >> 6 & 0x3F) ).write( (byte) (0x80 | ch & 0x3F) );
+        }
+
+        return write( (byte) '"' );
+    }
+
+    private JsonWriter ascii(final String value) {
+
+        ensure( value.length() );
+        for (int c = 0; c < value.length(); ++c)
+            bytes[length++] = (byte) value.charAt( c );
+
+        return this;
+    }
+
+    private JsonWriter escape(final char ch) {
+
+        switch (ch) {
+            case '\n':
+                return write( (byte) '\\' ).write( (byte) 'n' );
+            case '\r':
+                return write( (byte) '\\' ).write( (byte) 'r' );
+            case '\t':
+                return write( (byte) '\\' ).write( (byte) 't' );
+            default:
+                return write( (byte) '\\' ).write( (byte) 'u' )
+                                           .write( HEX_DIGITS[ch >> 12] )
+                                           .write( HEX_DIGITS[ch >> 8 & 0xF] )
+                                           .write( HEX_DIGITS[ch >> 4 & 0xF] )
+                                           .write( HEX_DIGITS[ch & 0xF] );
+        }
+    }
+
+    private JsonWriter write(final byte b) {
+
+        ensure( 1 );
+        bytes[length++] = b;
+
+        return this;
+    }
+
+    private JsonWriter write(final byte[] b) {
+
+        ensure( b.length );
+        System.arraycopy( b, 0, bytes, length, b.length );
+        length += b.length;
+
+        return this;
+    }
+
+    private void ensure(final int extra) {
+
+        if (length + extra > bytes.length)
+            bytes = Arrays.copyOf( bytes, Math.max( bytes.length * 2, length + extra ) );
+    }
+}
@@ -0,0 +1,48 @@
+package net.link.util.logging;
+
+import com.google.common.base.Supplier;
+import org.jetbrains.annotations.Nullable;
+
+
+/**
+ * A {@link Logger} event argument whose value is only computed when the event's message is formatted, ie. not at all when the event's
+ * level is disabled.  In {@link Logger#ASYNC_PROPERTY asynchronous} mode, the value is computed on the background thread.
+ * <p/>
+ * The value takes the place of the argument in the message format, so it can be formatted as a number or a date as well as a string.
+ * Other arguments, including other {@link Supplier}s, are formatted as they are.
+ * <p/>
+ * <pre>
+ * logger.trc( "Loaded %d entries from %s.", LazyArgument.of( entriesSupplier ), file );
+ * </pre>
+ *
+ * @param <T> The type of the argument's value.
+ */
+public abstract class LazyArgument<T> {
+
+    /**
+     * @return An argument that asks the supplier for its value when the event's message is formatted.
+     */
+    public static <T> LazyArgument<T> of(final Supplier<T> supplier) {
+
+        return new LazyArgument<T>() {
+            @Nullable
+            @Override
+            public T get() {
+
+                return supplier.get();
+            }
+        };
+    }
+
+    /**
+     * @return The value to format in place of this argument.
+     */
+    @Nullable
+    public abstract T get();
+
+    @Override
+    public String toString() {
+
+        return String.valueOf( get() );
+    }
+}
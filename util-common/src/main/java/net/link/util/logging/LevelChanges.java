@@ -0,0 +1,76 @@
+package net.link.util.logging;
+
+import java.lang.reflect.*;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Makes {@link Logger}s refresh their cached levels when the logging backend reports that its configuration changed.
+ * <p/>
+ * Only logback reports this (through a {@code LoggerContextListener}).  It is bound reflectively, since the backend is not a dependency.
+ */
+final class LevelChanges {
+
+    private static final String LOGBACK_LISTENER = "ch.qos.logback.classic.spi.LoggerContextListener";
+
+    /**
+     * Register for the backend's configuration changes, if it reports them.
+     *
+     * @return {@code true} if the backend will report its configuration changes, including level changes of single loggers.
+     */
+    static boolean listen() {
+
+        ILoggerFactory factory = LoggerFactory.getILoggerFactory();
+        try {
+            Class<?> listenerType = Class.forName( LOGBACK_LISTENER, false, factory.getClass().getClassLoader() );
+            if (!reportsLevelChanges( listenerType ))
+                return false;
+
+            Method addListener = factory.getClass().getMethod( "addListener", listenerType );
+            addListener.invoke( factory, Proxy.newProxyInstance( listenerType.getClassLoader(), new Class<?>[]{ listenerType },
+                    new InvocationHandler() {
+                        @Override
+                        public Object invoke(final Object proxy, final Method method, final Object[] args) {
+
+                            if (method.getDeclaringClass() == Object.class)
+                                switch (method.getName()) {
+                                    case "equals":
+                                        return proxy == args[0];
+                                    case "hashCode":
+                                        return System.identityHashCode( proxy );
+                                    default:
+                                        return LevelChanges.class.getName();
+                                }
+
+                            // Stay registered when the configuration is reset for reloading it.
+                            if ("isResetResistant".equals( method.getName() ))
+                                return true;
+
+                            // onStart, onReset, onStop and onLevelChange.
+                            Logger.refreshLevels();
+                            return null;
+                        }
+                    } ) );
+
+            return true;
+        }
+        catch (final ClassNotFoundException | NoSuchMethodException | IllegalAccessException | InvocationTargetException ignored) {
+            // Not logback, or a version that doesn't report changes.
+            return false;
+        }
+    }
+
+    private static boolean reportsLevelChanges(final Class<?> listenerType) {
+
+        for (final Method method : listenerType.getMethods())
+            if ("onLevelChange".equals( method.getName() ))
+                return true;
+
+        return false;
+    }
+
+    private LevelChanges() {
+
+    }
+}
@@ -0,0 +1,113 @@
+package net.link.util.logging;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Marker;
+
+
+/**
+ * The SLF4J levels that {@link Logger} events are emitted at.
+ */
+enum LogLevel {
+
+    TRACE {
+        @Override
+        boolean isEnabled(final org.slf4j.Logger logger) {
+
+            return logger.isTraceEnabled();
+        }
+
+        @Override
+        void emit(final org.slf4j.Logger logger, @Nullable final Marker marker, final String message, @Nullable final Throwable cause) {
+
+            logger.trace( marker, message, cause );
+        }
+    },
+    DEBUG {
+        @Override
+        boolean isEnabled(final org.slf4j.Logger logger) {
+
+            return logger.isDebugEnabled();
+        }
+
+        @Override
+        void emit(final org.slf4j.Logger logger, @Nullable final Marker marker, final String message, @Nullable final Throwable cause) {
+
+            logger.debug( marker, message, cause );
+        }
+    },
+    INFO {
+        @Override
+        boolean isEnabled(final org.slf4j.Logger logger) {
+
+            return logger.isInfoEnabled();
+        }
+
+        @Override
+        void emit(final org.slf4j.Logger logger, @Nullable final Marker marker, final String message, @Nullable final Throwable cause) {
+
+            logger.info( marker, message, cause );
+        }
+    },
+    WARN {
+        @Override
+        boolean isEnabled(final org.slf4j.Logger logger) {
+
+            return logger.isWarnEnabled();
+        }
+
+        @Override
+        void emit(final org.slf4j.Logger logger, @Nullable final Marker marker, final String message, @Nullable final Throwable cause) {
+
+            logger.warn( marker, message, cause );
+        }
+    },
+    ERROR {
+        @Override
+        boolean isEnabled(final org.slf4j.Logger logger) {
+
+            return logger.isErrorEnabled();
+        }
+
+        @Override
+        void emit(final org.slf4j.Logger logger, @Nullable final Marker marker, final String message, @Nullable final Throwable cause) {
+
+            logger.error( marker, message, cause );
+        }
+    };
+
+    abstract boolean isEnabled(org.slf4j.Logger logger);
+
+    abstract void emit(org.slf4j.Logger logger, @Nullable Marker marker, String message, @Nullable Throwable cause);
+
+    /**
+     * Emit an event.  If an identical stack trace was emitted recently (see {@link Logger#REPEATED_TRACE_INTERVAL_PROPERTY}), the cause
+     * is only described in the message instead of being passed along to have its stack trace rendered again.
+     */
+    void log(final org.slf4j.Logger logger, @Nullable final Marker marker, @Nullable final Throwable cause, final String message) {
+
+        if (cause != null && RepeatedTraces.isRepeated( cause ))
+            emit( logger, marker, String.format( "%s [%s, stack trace as logged before]", message, cause ), null );
+        else
+            emit( logger, marker, message, cause );
+    }
+
+    /**
+     * Render an event message the way {@link Logger} always has: the format is used as-is when there are no arguments.  {@link
+     * LazyArgument}s are replaced by their value.
+     */
+    static String format(final String descriptionFormat, @Nullable final Object... descriptionArguments) {
+
+        if (null == descriptionArguments || 0 == descriptionArguments.length)
+            return descriptionFormat;
+
+        Object[] arguments = descriptionArguments;
+        for (int a = 0; a < arguments.length; ++a)
+            if (arguments[a] instanceof LazyArgument) {
+                if (arguments == descriptionArguments)
+                    arguments = descriptionArguments.clone();
+                arguments[a] = ((LazyArgument<?>) arguments[a]).get();
+            }
+
+        return String.format( descriptionFormat, arguments );
+    }
+}
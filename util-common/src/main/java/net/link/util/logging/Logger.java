@@ -4,6 +4,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.google.common.base.Throwables;
 import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.LoggerFactory;
@@ -12,93 +13,957 @@ import org.slf4j.Marker;
 
 /**
  * Credits go to: https://github.com/Lyndir/Opal
+ * <p/>
+ * Event messages are only formatted when their level is enabled.  Arguments that are expensive to compute can be passed as a {@link
+ * LazyArgument}: its value is only computed when the message is formatted (which, in {@link #ASYNC_PROPERTY asynchronous} mode, happens
+ * on a background thread).  Up to four arguments can be passed without allocating an argument array.
  */
 public class Logger implements Serializable {
 
-    private final     String           name;
-    private transient org.slf4j.Logger logger;
+    /**
+     * The system property that makes all loggers emit their events asynchronously.  The level of an event is checked on the logging
+     * thread, but its message is formatted and passed to SLF4J by a background thread.
+     * <p/>
+     * Since formatting happens later, event arguments should not be mutated after they are logged.  Thread-bound SLF4J state such as the
+     * {@link org.slf4j.MDC} is not carried over to the background thread.
+     */
+    public static final String ASYNC_PROPERTY                   = "net.link.util.logging.async";
+    /**
+     * The system property that sets how many events the asynchronous buffer holds (rounded up to a power of two, default 8192).
+     */
+    public static final String ASYNC_BUFFER_SIZE_PROPERTY       = "net.link.util.logging.async.bufferSize";
+    /**
+     * The system property that names the {@link AsyncOverflow} policy for events that don't fit in the asynchronous buffer (default
+     * {@link AsyncOverflow#BLOCK}).
+     */
+    public static final String ASYNC_OVERFLOW_PROPERTY          = "net.link.util.logging.async.overflow";
+    /**
+     * The system property that sets how many events share one place in the buffer under the {@link AsyncOverflow#SAMPLE} policy (default
+     * 10).
+     */
+    public static final String ASYNC_SAMPLE_RATE_PROPERTY       = "net.link.util.logging.async.sampleRate";
+
+    /**
+     * The system property that sets how often (in milliseconds, 0: never) loggers check the logging configuration for changes to its
+     * levels.  The default is 0 if the backend reports configuration changes (logback does), and 1000 otherwise.
+     * <p/>
+     * Loggers cache which levels are enabled so that disabled events cost as little as possible.  With logback, the cache is refreshed
+     * whenever the configuration changes.  With other backends, levels are checked periodically; call {@link #refreshLevels()} after
+     * changing levels to have them take effect immediately.
+     */
+    public static final String LEVEL_REFRESH_PROPERTY           = "net.link.util.logging.levelRefresh";
+
+    /**
+     * The system property that limits how many events per second are emitted from a single call site, ie. for the same logger, level and
+     * format (default 0: no limit).  Suppressed events are counted and their number is logged periodically.  Events marked {@link
+     * Markers#AUDIT} or {@link Markers#BUG} are never suppressed.
+     */
+    public static final String RATE_LIMIT_PROPERTY              = "net.link.util.logging.rateLimit";
+    /**
+     * The system property that sets how many events a single call site may emit in a burst before {@link #RATE_LIMIT_PROPERTY} applies
+     * (default: the rate limit).
+     */
+    public static final String RATE_LIMIT_BURST_PROPERTY        = "net.link.util.logging.rateLimit.burst";
+    /**
+     * The system property that sets for how many milliseconds a stack trace is remembered after it was logged (default 0: not at all).
+     * Events whose cause has the same stack trace as one that is remembered only mention the cause in their message, so that the stack
+     * trace is not rendered again.  Stack traces are the same if the causes have the same types and were thrown from the same frames.
+     */
+    public static final String REPEATED_TRACE_INTERVAL_PROPERTY = "net.link.util.logging.repeatedTraceInterval";
+
+    /**
+     * The system property that names the file that {@link AuditEvent}s are appended to, one JSON object per line (default: none, log them
+     * as messages).
+     */
+    public static final String AUDIT_FILE_PROPERTY              = "net.link.util.logging.audit.file";
+    /**
+     * The system property that sets whether logging an {@link AuditEvent} waits until it has been synced to the {@link
+     * #AUDIT_FILE_PROPERTY audit file} (default {@code true}).  Concurrently logged events share a sync.
+     */
+    public static final String AUDIT_DURABLE_PROPERTY           = "net.link.util.logging.audit.durable";
+
+    private static final boolean       ASYNC                = Boolean.getBoolean( ASYNC_PROPERTY );
+    private static final boolean       RATE_LIMITED         = Integer.getInteger( RATE_LIMIT_PROPERTY, 0 ) > 0;
+    private static final LogLevel[]    LEVELS               = LogLevel.values();
+    private static final AtomicInteger levelsGeneration     = new AtomicInteger();
+    private static final boolean       LEVELS_REPORTED      = LevelChanges.listen();
+    private static final long          LEVEL_REFRESH_MILLIS = Long.getLong( LEVEL_REFRESH_PROPERTY, LEVELS_REPORTED? 0: 1000 );
+
+    static {
+        if (LEVEL_REFRESH_MILLIS > 0)
+            LoggingScheduler.scheduleEvery( LEVEL_REFRESH_MILLIS, new Runnable() {
+                @Override
+                public void run() {
+
+                    refreshLevels();
+                }
+            } );
+    }
+
+    private final           String           name;
+    private final transient org.slf4j.Logger logger;
+
+    /**
+     * The generation of {@link #levelsGeneration} that the levels were loaded in (high half) and a bit per enabled {@link LogLevel}
+     * (low half).
+     */
+    private transient volatile long levels;
+
+    // Create a logger --
+
+    /**
+     * @param type The type of the class that is responsible for the events logged through the logger that is returned.
+     *
+     * @return A logger.
+     */
+    public static Logger get(final Class<?> type) {
+
+        return new Logger( type.getCanonicalName() );
+    }
+
+    public static Logger get(final String name) {
+
+        return new Logger( name );
+    }
+
+    // Event logging --
+
+    /**
+     * Log a progress trace event.
+     * <p/>
+     * <p> This level is for all events that describe the flow of execution. </p>
+     *
+     * @param marker               An optional marker that can be used to tag this event with additional context.
+     * @param cause                A throwable that details the stack at the time of this event.
+     * @param descriptionFormat    The format of the event message. See {@link String#format(String, Object...)}.
+     * @param descriptionArguments The arguments to inject into the event message format.
+     *
+     * @return Self, for chaining.
+     */
+    public Logger trc(@Nullable final Marker marker, @Nullable final Throwable cause, final String descriptionFormat, final Object... descriptionArguments) {
+
+        if (isEnabled( LogLevel.TRACE ))
+            emit( LogLevel.TRACE, marker, cause, descriptionFormat, descriptionArguments );
+
+        return this;
+    }
+
+    /**
+     * Log a progress trace event.
+     * <p/>
+     * <p> This level is for all events that describe the flow of execution. </p>
+     *
+     * @param cause                A throwable that details the stack at the time of this event.
+     * @param descriptionFormat    The format of the event message. See {@link String#format(String, Object...)}.
+     * @param descriptionArguments The arguments to inject into the event message format.
+     *
+     * @return Self, for chaining.
+     */
+    public Logger trc(@Nullable final Throwable cause, final String descriptionFormat, final Object... descriptionArguments) {
+
+        if (isEnabled( LogLevel.TRACE ))
+            emit( LogLevel.TRACE, null, cause, descriptionFormat, descriptionArguments );
+
+        return this;
+    }
+
+    /**
+     * Log a progress trace event.
+     * <p/>
+     * <p> This level is for all events that describe the flow of execution. </p>
+     *
+     * @param descriptionFormat    The format of the event message. See {@link String#format(String, Object...)}.
+     * @param descriptionArguments The arguments to inject into the event message format.
+     *
+     * @return Self, for chaining.
+     *
+     * @see #trc(Throwable, String, Object...)
+     */
+    public Logger trc(final String descriptionFormat, final Object... descriptionArguments) {
+
+        if (isEnabled( LogLevel.TRACE ))
+            emit( LogLevel.TRACE, null, null, descriptionFormat, descriptionArguments );
+
+        return this;
+    }
+
+    /**
+     * Log a progress trace event.
+     *
+     * @return Self, for chaining.
+     *
+     * @see #trc(String, Object...)
+     */
+    public Logger trc(final String descriptionFormat) {
+
+        if (isEnabled( LogLevel.TRACE ))
+            emit( LogLevel.TRACE, null, null, descriptionFormat );
+
+        return this;
+    }
+
+    /**
+     * Log a progress trace event.
+     *
+     * @return Self, for chaining.
+     *
+     * @see #trc(String, Object...)
+     */
+    public Logger trc(final String descriptionFormat, final Object argument1) {
+
+        if (isEnabled( LogLevel.TRACE ))
+            emit( LogLevel.TRACE, null, null, descriptionFormat, argument1 );
+
+        return this;
+    }
+
+    /**
+     * Log a progress trace event.
+     *
+     * @return Self, for chaining.
+     *
+     * @see #trc(String, Object...)
+     */
+    public Logger trc(final String descriptionFormat, final Object argument1, final Object argument2) {
+
+        if (isEnabled( LogLevel.TRACE ))
+            emit( LogLevel.TRACE, null, null, descriptionFormat, argument1, argument2 );
+
+        return this;
+    }
+
+    /**
+     * Log a progress trace event.
+     *
+     * @return Self, for chaining.
+     *
+     * @see #trc(String, Object...)
+     */
+    public Logger trc(final String descriptionFormat, final Object argument1, final Object argument2, final Object argument3) {
+
+        if (isEnabled( LogLevel.TRACE ))
+            emit( LogLevel.TRACE, null, null, descriptionFormat, argument1, argument2, argument3 );
+
+        return this;
+    }
+
+    /**
+     * Log a progress trace event.
+     *
+     * @return Self, for chaining.
+     *
+     * @see #trc(String, Object...)
+     */
+    public Logger trc(final String descriptionFormat, final Object argument1, final Object argument2, final Object argument3, final Object argument4) {
+
+        if (isEnabled( LogLevel.TRACE ))
+            emit( LogLevel.TRACE, null, null, descriptionFormat, argument1, argument2, argument3, argument4 );
+
+        return this;
+    }
+
+    /**
+     * Log a progress trace event.
+     *
+     * @return Self, for chaining.
+     *
+     * @see #trc(Throwable, String, Object...)
+     */
+    public Logger trc(@Nullable final Throwable cause, final String descriptionFormat) {
+
+        if (isEnabled( LogLevel.TRACE ))
+            emit( LogLevel.TRACE, null, cause, descriptionFormat );
+
+        return this;
+    }
+
+    /**
+     * Log a progress trace event.
+     *
+     * @return Self, for chaining.
+     *
+     * @see #trc(Throwable, String, Object...)
+     */
+    public Logger trc(@Nullable final Throwable cause, final String descriptionFormat, final Object argument1) {
+
+        if (isEnabled( LogLevel.TRACE ))
+            emit( LogLevel.TRACE, null, cause, descriptionFormat, argument1 );
+
+        return this;
+    }
+
+    /**
+     * Log a progress trace event.
+     *
+     * @return Self, for chaining.
+     *
+     * @see #trc(Throwable, String, Object...)
+     */
+    public Logger trc(@Nullable final Throwable cause, final String descriptionFormat, final Object argument1, final Object argument2) {
+
+        if (isEnabled( LogLevel.TRACE ))
+            emit( LogLevel.TRACE, null, cause, descriptionFormat, argument1, argument2 );
+
+        return this;
+    }
+
+    /**
+     * Log a progress trace event.
+     *
+     * @return Self, for chaining.
+     *
+     * @see #trc(Throwable, String, Object...)
+     */
+    public Logger trc(@Nullable final Throwable cause, final String descriptionFormat, final Object argument1, final Object argument2, final Object argument3) {
+
+        if (isEnabled( LogLevel.TRACE ))
+            emit( LogLevel.TRACE, null, cause, descriptionFormat, argument1, argument2, argument3 );
+
+        return this;
+    }
+
+    /**
+     * Log a progress trace event.
+     *
+     * @return Self, for chaining.
+     *
+     * @see #trc(Throwable, String, Object...)
+     */
+    public Logger trc(@Nullable final Throwable cause, final String descriptionFormat, final Object argument1, final Object argument2, final Object argument3, final Object argument4) {
+
+        if (isEnabled( LogLevel.TRACE ))
+            emit( LogLevel.TRACE, null, cause, descriptionFormat, argument1, argument2, argument3, argument4 );
+
+        return this;
+    }
+
+    /**
+     * Log a debugging event.
+     * <p/>
+     * <p> This level is for all events that visualize the application's state. </p>
+     *
+     * @param marker               An optional marker that can be used to tag this event with additional context.
+     * @param cause                A throwable that details the stack at the time of this event.
+     * @param descriptionFormat    The format of the event message. See {@link String#format(String, Object...)}.
+     * @param descriptionArguments The arguments to inject into the event message format.
+     *
+     * @return Self, for chaining.
+     */
+    public Logger dbg(@Nullable final Marker marker, @Nullable final Throwable cause, final String descriptionFormat, final Object... descriptionArguments) {
+
+        if (isEnabled( LogLevel.DEBUG ))
+            emit( LogLevel.DEBUG, marker, cause, descriptionFormat, descriptionArguments );
+
+        return this;
+    }
+
+    /**
+     * Log a debugging event.
+     * <p/>
+     * <p> This level is for all events that visualize the application's state. </p>
+     *
+     * @param cause                A throwable that details the stack at the time of this event.
+     * @param descriptionFormat    The format of the event message. See {@link String#format(String, Object...)}.
+     * @param descriptionArguments The arguments to inject into the event message format.
+     *
+     * @return Self, for chaining.
+     */
+    public Logger dbg(@Nullable final Throwable cause, final String descriptionFormat, final Object... descriptionArguments) {
+
+        if (isEnabled( LogLevel.DEBUG ))
+            emit( LogLevel.DEBUG, null, cause, descriptionFormat, descriptionArguments );
+
+        return this;
+    }
+
+    /**
+     * Log a debugging event.
+     * <p/>
+     * <p> This level is for all events that visualize the application's state. </p>
+     *
+     * @param descriptionFormat    The format of the event message. See {@link String#format(String, Object...)}.
+     * @param descriptionArguments The arguments to inject into the event message format.
+     *
+     * @return Self, for chaining.
+     */
+    public Logger dbg(final String descriptionFormat, final Object... descriptionArguments) {
+
+        if (isEnabled( LogLevel.DEBUG ))
+            emit( LogLevel.DEBUG, null, null, descriptionFormat, descriptionArguments );
+
+        return this;
+    }
+
+    /**
+     * Log a debugging event.
+     *
+     * @return Self, for chaining.
+     *
+     * @see #dbg(String, Object...)
+     */
+    public Logger dbg(final String descriptionFormat) {
+
+        if (isEnabled( LogLevel.DEBUG ))
+            emit( LogLevel.DEBUG, null, null, descriptionFormat );
+
+        return this;
+    }
+
+    /**
+     * Log a debugging event.
+     *
+     * @return Self, for chaining.
+     *
+     * @see #dbg(String, Object...)
+     */
+    public Logger dbg(final String descriptionFormat, final Object argument1) {
+
+        if (isEnabled( LogLevel.DEBUG ))
+            emit( LogLevel.DEBUG, null, null, descriptionFormat, argument1 );
+
+        return this;
+    }
+
+    /**
+     * Log a debugging event.
+     *
+     * @return Self, for chaining.
+     *
+     * @see #dbg(String, Object...)
+     */
+    public Logger dbg(final String descriptionFormat, final Object argument1, final Object argument2) {
+
+        if (isEnabled( LogLevel.DEBUG ))
+            emit( LogLevel.DEBUG, null, null, descriptionFormat, argument1, argument2 );
+
+        return this;
+    }
+
+    /**
+     * Log a debugging event.
+     *
+     * @return Self, for chaining.
+     *
+     * @see #dbg(String, Object...)
+     */
+    public Logger dbg(final String descriptionFormat, final Object argument1, final Object argument2, final Object argument3) {
+
+        if (isEnabled( LogLevel.DEBUG ))
+            emit( LogLevel.DEBUG, null, null, descriptionFormat, argument1, argument2, argument3 );
+
+        return this;
+    }
+
+    /**
+     * Log a debugging event.
+     *
+     * @return Self, for chaining.
+     *
+     * @see #dbg(String, Object...)
+     */
+    public Logger dbg(final String descriptionFormat, final Object argument1, final Object argument2, final Object argument3, final Object argument4) {
+
+        if (isEnabled( LogLevel.DEBUG ))
+            emit( LogLevel.DEBUG, null, null, descriptionFormat, argument1, argument2, argument3, argument4 );
+
+        return this;
+    }
+
+    /**
+     * Log a debugging event.
+     *
+     * @return Self, for chaining.
+     *
+     * @see #dbg(Throwable, String, Object...)
+     */
+    public Logger dbg(@Nullable final Throwable cause, final String descriptionFormat) {
+
+        if (isEnabled( LogLevel.DEBUG ))
+            emit( LogLevel.DEBUG, null, cause, descriptionFormat );
+
+        return this;
+    }
+
+    /**
+     * Log a debugging event.
+     *
+     * @return Self, for chaining.
+     *
+     * @see #dbg(Throwable, String, Object...)
+     */
+    public Logger dbg(@Nullable final Throwable cause, final String descriptionFormat, final Object argument1) {
+
+        if (isEnabled( LogLevel.DEBUG ))
+            emit( LogLevel.DEBUG, null, cause, descriptionFormat, argument1 );
+
+        return this;
+    }
+
+    /**
+     * Log a debugging event.
+     *
+     * @return Self, for chaining.
+     *
+     * @see #dbg(Throwable, String, Object...)
+     */
+    public Logger dbg(@Nullable final Throwable cause, final String descriptionFormat, final Object argument1, final Object argument2) {
+
+        if (isEnabled( LogLevel.DEBUG ))
+            emit( LogLevel.DEBUG, null, cause, descriptionFormat, argument1, argument2 );
+
+        return this;
+    }
+
+    /**
+     * Log a debugging event.
+     *
+     * @return Self, for chaining.
+     *
+     * @see #dbg(Throwable, String, Object...)
+     */
+    public Logger dbg(@Nullable final Throwable cause, final String descriptionFormat, final Object argument1, final Object argument2, final Object argument3) {
+
+        if (isEnabled( LogLevel.DEBUG ))
+            emit( LogLevel.DEBUG, null, cause, descriptionFormat, argument1, argument2, argument3 );
+
+        return this;
+    }
+
+    /**
+     * Log a debugging event.
+     *
+     * @return Self, for chaining.
+     *
+     * @see #dbg(Throwable, String, Object...)
+     */
+    public Logger dbg(@Nullable final Throwable cause, final String descriptionFormat, final Object argument1, final Object argument2, final Object argument3, final Object argument4) {
+
+        if (isEnabled( LogLevel.DEBUG ))
+            emit( LogLevel.DEBUG, null, cause, descriptionFormat, argument1, argument2, argument3, argument4 );
+
+        return this;
+    }
+
+    /**
+     * Log an informative statement.
+     * <p/>
+     * <p> This level is for all events that detail an important evolution in the application's state. </p>
+     *
+     * @param marker               An optional marker that can be used to tag this event with additional context.
+     * @param cause                A throwable that details the stack at the time of this event.
+     * @param descriptionFormat    The format of the event message. See {@link String#format(String, Object...)}.
+     * @param descriptionArguments The arguments to inject into the event message format.
+     *
+     * @return Self, for chaining.
+     */
+    public Logger inf(@Nullable final Marker marker, @Nullable final Throwable cause, final String descriptionFormat, final Object... descriptionArguments) {
+
+        if (isEnabled( LogLevel.INFO ))
+            emit( LogLevel.INFO, marker, cause, descriptionFormat, descriptionArguments );
+
+        return this;
+    }
+
+    /**
+     * Log an informative statement.
+     * <p/>
+     * <p> This level is for all events that detail an important evolution in the application's state. </p>
+     *
+     * @param cause                A throwable that details the stack at the time of this event.
+     * @param descriptionFormat    The format of the event message. See {@link String#format(String, Object...)}.
+     * @param descriptionArguments The arguments to inject into the event message format.
+     *
+     * @return Self, for chaining.
+     */
+    public Logger inf(@Nullable final Throwable cause, final String descriptionFormat, final Object... descriptionArguments) {
+
+        if (isEnabled( LogLevel.INFO ))
+            emit( LogLevel.INFO, null, cause, descriptionFormat, descriptionArguments );
+
+        return this;
+    }
+
+    /**
+     * Log an informative statement.
+     * <p/>
+     * <p> This level is for all events that detail an important evolution in the application's state. </p>
+     *
+     * @param descriptionFormat    The format of the event message. See {@link String#format(String, Object...)}.
+     * @param descriptionArguments The arguments to inject into the event message format.
+     *
+     * @return Self, for chaining.
+     *
+     * @see #inf(Throwable, String, Object...)
+     */
+    public Logger inf(final String descriptionFormat, final Object... descriptionArguments) {
+
+        if (isEnabled( LogLevel.INFO ))
+            emit( LogLevel.INFO, null, null, descriptionFormat, descriptionArguments );
+
+        return this;
+    }
+
+    /**
+     * Log an informative statement.
+     *
+     * @return Self, for chaining.
+     *
+     * @see #inf(String, Object...)
+     */
+    public Logger inf(final String descriptionFormat) {
+
+        if (isEnabled( LogLevel.INFO ))
+            emit( LogLevel.INFO, null, null, descriptionFormat );
+
+        return this;
+    }
+
+    /**
+     * Log an informative statement.
+     *
+     * @return Self, for chaining.
+     *
+     * @see #inf(String, Object...)
+     */
+    public Logger inf(final String descriptionFormat, final Object argument1) {
+
+        if (isEnabled( LogLevel.INFO ))
+            emit( LogLevel.INFO, null, null, descriptionFormat, argument1 );
+
+        return this;
+    }
+
+    /**
+     * Log an informative statement.
+     *
+     * @return Self, for chaining.
+     *
+     * @see #inf(String, Object...)
+     */
+    public Logger inf(final String descriptionFormat, final Object argument1, final Object argument2) {
+
+        if (isEnabled( LogLevel.INFO ))
+            emit( LogLevel.INFO, null, null, descriptionFormat, argument1, argument2 );
+
+        return this;
+    }
+
+    /**
+     * Log an informative statement.
+     *
+     * @return Self, for chaining.
+     *
+     * @see #inf(String, Object...)
+     */
+    public Logger inf(final String descriptionFormat, final Object argument1, final Object argument2, final Object argument3) {
+
+        if (isEnabled( LogLevel.INFO ))
+            emit( LogLevel.INFO, null, null, descriptionFormat, argument1, argument2, argument3 );
+
+        return this;
+    }
+
+    /**
+     * Log an informative statement.
+     *
+     * @return Self, for chaining.
+     *
+     * @see #inf(String, Object...)
+     */
+    public Logger inf(final String descriptionFormat, final Object argument1, final Object argument2, final Object argument3, final Object argument4) {
+
+        if (isEnabled( LogLevel.INFO ))
+            emit( LogLevel.INFO, null, null, descriptionFormat, argument1, argument2, argument3, argument4 );
+
+        return this;
+    }
+
+    /**
+     * Log an informative statement.
+     *
+     * @return Self, for chaining.
+     *
+     * @see #inf(Throwable, String, Object...)
+     */
+    public Logger inf(@Nullable final Throwable cause, final String descriptionFormat) {
+
+        if (isEnabled( LogLevel.INFO ))
+            emit( LogLevel.INFO, null, cause, descriptionFormat );
+
+        return this;
+    }
+
+    /**
+     * Log an informative statement.
+     *
+     * @return Self, for chaining.
+     *
+     * @see #inf(Throwable, String, Object...)
+     */
+    public Logger inf(@Nullable final Throwable cause, final String descriptionFormat, final Object argument1) {
+
+        if (isEnabled( LogLevel.INFO ))
+            emit( LogLevel.INFO, null, cause, descriptionFormat, argument1 );
+
+        return this;
+    }
+
+    /**
+     * Log an informative statement.
+     *
+     * @return Self, for chaining.
+     *
+     * @see #inf(Throwable, String, Object...)
+     */
+    public Logger inf(@Nullable final Throwable cause, final String descriptionFormat, final Object argument1, final Object argument2) {
+
+        if (isEnabled( LogLevel.INFO ))
+            emit( LogLevel.INFO, null, cause, descriptionFormat, argument1, argument2 );
+
+        return this;
+    }
+
+    /**
+     * Log an informative statement.
+     *
+     * @return Self, for chaining.
+     *
+     * @see #inf(Throwable, String, Object...)
+     */
+    public Logger inf(@Nullable final Throwable cause, final String descriptionFormat, final Object argument1, final Object argument2, final Object argument3) {
+
+        if (isEnabled( LogLevel.INFO ))
+            emit( LogLevel.INFO, null, cause, descriptionFormat, argument1, argument2, argument3 );
+
+        return this;
+    }
+
+    /**
+     * Log an informative statement.
+     *
+     * @return Self, for chaining.
+     *
+     * @see #inf(Throwable, String, Object...)
+     */
+    public Logger inf(@Nullable final Throwable cause, final String descriptionFormat, final Object argument1, final Object argument2, final Object argument3, final Object argument4) {
+
+        if (isEnabled( LogLevel.INFO ))
+            emit( LogLevel.INFO, null, cause, descriptionFormat, argument1, argument2, argument3, argument4 );
+
+        return this;
+    }
+
+    /**
+     * Log an application warning.
+     * <p/>
+     * <p> This level is for all events that indicate a suboptimal / non-ideal flow. </p>
+     *
+     * @param marker               An optional marker that can be used to tag this event with additional context.
+     * @param cause                A throwable that details the stack at the time of this event.
+     * @param descriptionFormat    The format of the event message. See {@link String#format(String, Object...)}.
+     * @param descriptionArguments The arguments to inject into the event message format.
+     *
+     * @return Self, for chaining.
+     */
+    public Logger wrn(@Nullable final Marker marker, @Nullable final Throwable cause, final String descriptionFormat, final Object... descriptionArguments) {
+
+        if (isEnabled( LogLevel.WARN ))
+            emit( LogLevel.WARN, marker, cause, descriptionFormat, descriptionArguments );
+
+        return this;
+    }
+
+    /**
+     * Log an application warning.
+     * <p/>
+     * <p> This level is for all events that indicate a suboptimal / non-ideal flow. </p>
+     *
+     * @param cause                A throwable that details the stack at the time of this event.
+     * @param descriptionFormat    The format of the event message. See {@link String#format(String, Object...)}.
+     * @param descriptionArguments The arguments to inject into the event message format.
+     *
+     * @return Self, for chaining.
+     */
+    public Logger wrn(@Nullable final Throwable cause, final String descriptionFormat, final Object... descriptionArguments) {
+
+        if (isEnabled( LogLevel.WARN ))
+            emit( LogLevel.WARN, null, cause, descriptionFormat, descriptionArguments );
+
+        return this;
+    }
+
+    /**
+     * Log an application warning.
+     * <p/>
+     * <p> This level is for all events that indicate a suboptimal / non-ideal flow. </p>
+     *
+     * @param descriptionFormat    The format of the event message. See {@link String#format(String, Object...)}.
+     * @param descriptionArguments The arguments to inject into the event message format.
+     *
+     * @return Self, for chaining.
+     */
+    public Logger wrn(final String descriptionFormat, final Object... descriptionArguments) {
+
+        if (isEnabled( LogLevel.WARN ))
+            emit( LogLevel.WARN, null, null, descriptionFormat, descriptionArguments );
+
+        return this;
+    }
+
+    /**
+     * Log an application warning.
+     *
+     * @return Self, for chaining.
+     *
+     * @see #wrn(String, Object...)
+     */
+    public Logger wrn(final String descriptionFormat) {
+
+        if (isEnabled( LogLevel.WARN ))
+            emit( LogLevel.WARN, null, null, descriptionFormat );
+
+        return this;
+    }
+
+    /**
+     * Log an application warning.
+     *
+     * @return Self, for chaining.
+     *
+     * @see #wrn(String, Object...)
+     */
+    public Logger wrn(final String descriptionFormat, final Object argument1) {
+
+        if (isEnabled( LogLevel.WARN ))
+            emit( LogLevel.WARN, null, null, descriptionFormat, argument1 );
+
+        return this;
+    }
+
+    /**
+     * Log an application warning.
+     *
+     * @return Self, for chaining.
+     *
+     * @see #wrn(String, Object...)
+     */
+    public Logger wrn(final String descriptionFormat, final Object argument1, final Object argument2) {
+
+        if (isEnabled( LogLevel.WARN ))
+            emit( LogLevel.WARN, null, null, descriptionFormat, argument1, argument2 );
+
+        return this;
+    }
+
+    /**
+     * Log an application warning.
+     *
+     * @return Self, for chaining.
+     *
+     * @see #wrn(String, Object...)
+     */
+    public Logger wrn(final String descriptionFormat, final Object argument1, final Object argument2, final Object argument3) {
+
+        if (isEnabled( LogLevel.WARN ))
+            emit( LogLevel.WARN, null, null, descriptionFormat, argument1, argument2, argument3 );
+
+        return this;
+    }
+
+    /**
+     * Log an application warning.
+     *
+     * @return Self, for chaining.
+     *
+     * @see #wrn(String, Object...)
+     */
+    public Logger wrn(final String descriptionFormat, final Object argument1, final Object argument2, final Object argument3, final Object argument4) {
+
+        if (isEnabled( LogLevel.WARN ))
+            emit( LogLevel.WARN, null, null, descriptionFormat, argument1, argument2, argument3, argument4 );
+
+        return this;
+    }
+
+    /**
+     * Log an application warning.
+     *
+     * @return Self, for chaining.
+     *
+     * @see #wrn(Throwable, String, Object...)
+     */
+    public Logger wrn(@Nullable final Throwable cause, final String descriptionFormat) {
+
+        if (isEnabled( LogLevel.WARN ))
+            emit( LogLevel.WARN, null, cause, descriptionFormat );
 
-    // Create a logger --
+        return this;
+    }
 
     /**
-     * @param type The type of the class that is responsible for the events logged through the logger that is returned.
+     * Log an application warning.
      *
-     * @return A logger.
+     * @return Self, for chaining.
+     *
+     * @see #wrn(Throwable, String, Object...)
      */
-    public static Logger get(final Class<?> type) {
-
-        return new Logger( type.getCanonicalName() );
-    }
+    public Logger wrn(@Nullable final Throwable cause, final String descriptionFormat, final Object argument1) {
 
-    public static Logger get(final String name) {
+        if (isEnabled( LogLevel.WARN ))
+            emit( LogLevel.WARN, null, cause, descriptionFormat, argument1 );
 
-        return new Logger( name );
+        return this;
     }
 
-    // Event logging --
-
     /**
-     * Log a progress trace event.
-     * <p/>
-     * <p> This level is for all events that describe the flow of execution. </p>
-     *
-     * @param marker               An optional marker that can be used to tag this event with additional context.
-     * @param cause                A throwable that details the stack at the time of this event.
-     * @param descriptionFormat    The format of the event message. See {@link String#format(String, Object...)}.
-     * @param descriptionArguments The arguments to inject into the event message format.
+     * Log an application warning.
      *
      * @return Self, for chaining.
+     *
+     * @see #wrn(Throwable, String, Object...)
      */
-    public Logger trc(@Nullable final Marker marker, @Nullable final Throwable cause, final String descriptionFormat, final Object... descriptionArguments) {
+    public Logger wrn(@Nullable final Throwable cause, final String descriptionFormat, final Object argument1, final Object argument2) {
 
-        if (slf4j().isTraceEnabled()) {
-            if (null == descriptionArguments || 0 == descriptionArguments.length) {
-                slf4j().trace( marker, descriptionFormat, cause );
-            } else {
-                slf4j().trace( marker, String.format( descriptionFormat, descriptionArguments ), cause );
-            }
-        }
+        if (isEnabled( LogLevel.WARN ))
+            emit( LogLevel.WARN, null, cause, descriptionFormat, argument1, argument2 );
 
         return this;
     }
 
     /**
-     * Log a progress trace event.
-     * <p/>
-     * <p> This level is for all events that describe the flow of execution. </p>
-     *
-     * @param cause                A throwable that details the stack at the time of this event.
-     * @param descriptionFormat    The format of the event message. See {@link String#format(String, Object...)}.
-     * @param descriptionArguments The arguments to inject into the event message format.
+     * Log an application warning.
      *
      * @return Self, for chaining.
+     *
+     * @see #wrn(Throwable, String, Object...)
      */
-    public Logger trc(@Nullable final Throwable cause, final String descriptionFormat, final Object... descriptionArguments) {
+    public Logger wrn(@Nullable final Throwable cause, final String descriptionFormat, final Object argument1, final Object argument2, final Object argument3) {
 
-        return trc( null, cause, descriptionFormat, descriptionArguments );
+        if (isEnabled( LogLevel.WARN ))
+            emit( LogLevel.WARN, null, cause, descriptionFormat, argument1, argument2, argument3 );
+
+        return this;
     }
 
     /**
-     * Log a progress trace event.
-     * <p/>
-     * <p> This level is for all events that describe the flow of execution. </p>
-     *
-     * @param descriptionFormat    The format of the event message. See {@link String#format(String, Object...)}.
-     * @param descriptionArguments The arguments to inject into the event message format.
+     * Log an application warning.
      *
      * @return Self, for chaining.
      *
-     * @see #trc(Throwable, String, Object...)
+     * @see #wrn(Throwable, String, Object...)
      */
-    public Logger trc(final String descriptionFormat, final Object... descriptionArguments) {
+    public Logger wrn(@Nullable final Throwable cause, final String descriptionFormat, final Object argument1, final Object argument2, final Object argument3, final Object argument4) {
+
+        if (isEnabled( LogLevel.WARN ))
+            emit( LogLevel.WARN, null, cause, descriptionFormat, argument1, argument2, argument3, argument4 );
 
-        return trc( null, descriptionFormat, descriptionArguments );
+        return this;
     }
 
     /**
-     * Log a debugging event.
+     * Log an application error.
      * <p/>
-     * <p> This level is for all events that visualize the application's state. </p>
+     * <p> This level is for all events that indicate failure to comply with the request. </p>
      *
      * @param marker               An optional marker that can be used to tag this event with additional context.
      * @param cause                A throwable that details the stack at the time of this event.
@@ -107,23 +972,18 @@ public class Logger implements Serializable {
      *
      * @return Self, for chaining.
      */
-    public Logger dbg(@Nullable final Marker marker, @Nullable final Throwable cause, final String descriptionFormat, final Object... descriptionArguments) {
+    public Logger err(@Nullable final Marker marker, @Nullable final Throwable cause, final String descriptionFormat, final Object... descriptionArguments) {
 
-        if (slf4j().isDebugEnabled()) {
-            if (null == descriptionArguments || 0 == descriptionArguments.length) {
-                slf4j().debug( marker, descriptionFormat, cause );
-            } else {
-                slf4j().debug( marker, String.format( descriptionFormat, descriptionArguments ), cause );
-            }
-        }
+        if (isEnabled( LogLevel.ERROR ))
+            emit( LogLevel.ERROR, marker, cause, descriptionFormat, descriptionArguments );
 
         return this;
     }
 
     /**
-     * Log a debugging event.
+     * Log an application error.
      * <p/>
-     * <p> This level is for all events that visualize the application's state. </p>
+     * <p> This level is for all events that indicate failure to comply with the request. </p>
      *
      * @param cause                A throwable that details the stack at the time of this event.
      * @param descriptionFormat    The format of the event message. See {@link String#format(String, Object...)}.
@@ -131,194 +991,180 @@ public class Logger implements Serializable {
      *
      * @return Self, for chaining.
      */
-    public Logger dbg(@Nullable final Throwable cause, final String descriptionFormat, final Object... descriptionArguments) {
+    public Logger err(@Nullable final Throwable cause, final String descriptionFormat, final Object... descriptionArguments) {
+
+        if (isEnabled( LogLevel.ERROR ))
+            emit( LogLevel.ERROR, null, cause, descriptionFormat, descriptionArguments );
 
-        return dbg( null, cause, descriptionFormat, descriptionArguments );
+        return this;
     }
 
     /**
-     * Log a debugging event.
+     * Log an application error.
      * <p/>
-     * <p> This level is for all events that visualize the application's state. </p>
+     * <p> This level is for all events that indicate failure to comply with the request. </p>
      *
      * @param descriptionFormat    The format of the event message. See {@link String#format(String, Object...)}.
      * @param descriptionArguments The arguments to inject into the event message format.
      *
      * @return Self, for chaining.
      */
-    public Logger dbg(final String descriptionFormat, final Object... descriptionArguments) {
+    public Logger err(final String descriptionFormat, final Object... descriptionArguments) {
+
+        if (isEnabled( LogLevel.ERROR ))
+            emit( LogLevel.ERROR, null, null, descriptionFormat, descriptionArguments );
 
-        return dbg( null, descriptionFormat, descriptionArguments );
+        return this;
     }
 
     /**
-     * Log an informative statement.
-     * <p/>
-     * <p> This level is for all events that detail an important evolution in the application's state. </p>
-     *
-     * @param marker               An optional marker that can be used to tag this event with additional context.
-     * @param cause                A throwable that details the stack at the time of this event.
-     * @param descriptionFormat    The format of the event message. See {@link String#format(String, Object...)}.
-     * @param descriptionArguments The arguments to inject into the event message format.
+     * Log an application error.
      *
      * @return Self, for chaining.
+     *
+     * @see #err(String, Object...)
      */
-    public Logger inf(@Nullable final Marker marker, @Nullable final Throwable cause, final String descriptionFormat, final Object... descriptionArguments) {
+    public Logger err(final String descriptionFormat) {
 
-        if (slf4j().isInfoEnabled()) {
-            if (null == descriptionArguments || 0 == descriptionArguments.length) {
-                slf4j().info( marker, descriptionFormat, cause );
-            } else {
-                slf4j().info( marker, String.format( descriptionFormat, descriptionArguments ), cause );
-            }
-        }
+        if (isEnabled( LogLevel.ERROR ))
+            emit( LogLevel.ERROR, null, null, descriptionFormat );
 
         return this;
     }
 
     /**
-     * Log an informative statement.
-     * <p/>
-     * <p> This level is for all events that detail an important evolution in the application's state. </p>
-     *
-     * @param cause                A throwable that details the stack at the time of this event.
-     * @param descriptionFormat    The format of the event message. See {@link String#format(String, Object...)}.
-     * @param descriptionArguments The arguments to inject into the event message format.
+     * Log an application error.
      *
      * @return Self, for chaining.
+     *
+     * @see #err(String, Object...)
      */
-    public Logger inf(@Nullable final Throwable cause, final String descriptionFormat, final Object... descriptionArguments) {
+    public Logger err(final String descriptionFormat, final Object argument1) {
 
-        return inf( null, cause, descriptionFormat, descriptionArguments );
+        if (isEnabled( LogLevel.ERROR ))
+            emit( LogLevel.ERROR, null, null, descriptionFormat, argument1 );
+
+        return this;
     }
 
     /**
-     * Log an informative statement.
-     * <p/>
-     * <p> This level is for all events that detail an important evolution in the application's state. </p>
-     *
-     * @param descriptionFormat    The format of the event message. See {@link String#format(String, Object...)}.
-     * @param descriptionArguments The arguments to inject into the event message format.
+     * Log an application error.
      *
      * @return Self, for chaining.
      *
-     * @see #inf(Throwable, String, Object...)
+     * @see #err(String, Object...)
      */
-    public Logger inf(final String descriptionFormat, final Object... descriptionArguments) {
+    public Logger err(final String descriptionFormat, final Object argument1, final Object argument2) {
+
+        if (isEnabled( LogLevel.ERROR ))
+            emit( LogLevel.ERROR, null, null, descriptionFormat, argument1, argument2 );
 
-        return inf( null, descriptionFormat, descriptionArguments );
+        return this;
     }
 
     /**
-     * Log an application warning.
-     * <p/>
-     * <p> This level is for all events that indicate a suboptimal / non-ideal flow. </p>
-     *
-     * @param marker               An optional marker that can be used to tag this event with additional context.
-     * @param cause                A throwable that details the stack at the time of this event.
-     * @param descriptionFormat    The format of the event message. See {@link String#format(String, Object...)}.
-     * @param descriptionArguments The arguments to inject into the event message format.
+     * Log an application error.
      *
      * @return Self, for chaining.
+     *
+     * @see #err(String, Object...)
      */
-    public Logger wrn(@Nullable final Marker marker, @Nullable final Throwable cause, final String descriptionFormat, final Object... descriptionArguments) {
+    public Logger err(final String descriptionFormat, final Object argument1, final Object argument2, final Object argument3) {
 
-        if (slf4j().isWarnEnabled()) {
-            if (null == descriptionArguments || 0 == descriptionArguments.length) {
-                slf4j().warn( marker, descriptionFormat, cause );
-            } else {
-                slf4j().warn( marker, String.format( descriptionFormat, descriptionArguments ), cause );
-            }
-        }
+        if (isEnabled( LogLevel.ERROR ))
+            emit( LogLevel.ERROR, null, null, descriptionFormat, argument1, argument2, argument3 );
 
         return this;
     }
 
     /**
-     * Log an application warning.
-     * <p/>
-     * <p> This level is for all events that indicate a suboptimal / non-ideal flow. </p>
-     *
-     * @param cause                A throwable that details the stack at the time of this event.
-     * @param descriptionFormat    The format of the event message. See {@link String#format(String, Object...)}.
-     * @param descriptionArguments The arguments to inject into the event message format.
+     * Log an application error.
      *
      * @return Self, for chaining.
+     *
+     * @see #err(String, Object...)
      */
-    public Logger wrn(@Nullable final Throwable cause, final String descriptionFormat, final Object... descriptionArguments) {
+    public Logger err(final String descriptionFormat, final Object argument1, final Object argument2, final Object argument3, final Object argument4) {
 
-        return wrn( null, cause, descriptionFormat, descriptionArguments );
+        if (isEnabled( LogLevel.ERROR ))
+            emit( LogLevel.ERROR, null, null, descriptionFormat, argument1, argument2, argument3, argument4 );
+
+        return this;
     }
 
     /**
-     * Log an application warning.
-     * <p/>
-     * <p> This level is for all events that indicate a suboptimal / non-ideal flow. </p>
-     *
-     * @param descriptionFormat    The format of the event message. See {@link String#format(String, Object...)}.
-     * @param descriptionArguments The arguments to inject into the event message format.
+     * Log an application error.
      *
      * @return Self, for chaining.
+     *
+     * @see #err(Throwable, String, Object...)
      */
-    public Logger wrn(final String descriptionFormat, final Object... descriptionArguments) {
+    public Logger err(@Nullable final Throwable cause, final String descriptionFormat) {
+
+        if (isEnabled( LogLevel.ERROR ))
+            emit( LogLevel.ERROR, null, cause, descriptionFormat );
 
-        return wrn( null, descriptionFormat, descriptionArguments );
+        return this;
     }
 
     /**
      * Log an application error.
-     * <p/>
-     * <p> This level is for all events that indicate failure to comply with the request. </p>
-     *
-     * @param marker               An optional marker that can be used to tag this event with additional context.
-     * @param cause                A throwable that details the stack at the time of this event.
-     * @param descriptionFormat    The format of the event message. See {@link String#format(String, Object...)}.
-     * @param descriptionArguments The arguments to inject into the event message format.
      *
      * @return Self, for chaining.
+     *
+     * @see #err(Throwable, String, Object...)
      */
-    public Logger err(@Nullable final Marker marker, @Nullable final Throwable cause, final String descriptionFormat, final Object... descriptionArguments) {
+    public Logger err(@Nullable final Throwable cause, final String descriptionFormat, final Object argument1) {
 
-        if (slf4j().isErrorEnabled()) {
-            if (null == descriptionArguments || 0 == descriptionArguments.length) {
-                slf4j().error( marker, descriptionFormat, cause );
-            } else {
-                slf4j().error( marker, String.format( descriptionFormat, descriptionArguments ), cause );
-            }
-        }
+        if (isEnabled( LogLevel.ERROR ))
+            emit( LogLevel.ERROR, null, cause, descriptionFormat, argument1 );
 
         return this;
     }
 
     /**
      * Log an application error.
-     * <p/>
-     * <p> This level is for all events that indicate failure to comply with the request. </p>
-     *
-     * @param cause                A throwable that details the stack at the time of this event.
-     * @param descriptionFormat    The format of the event message. See {@link String#format(String, Object...)}.
-     * @param descriptionArguments The arguments to inject into the event message format.
      *
      * @return Self, for chaining.
+     *
+     * @see #err(Throwable, String, Object...)
      */
-    public Logger err(@Nullable final Throwable cause, final String descriptionFormat, final Object... descriptionArguments) {
+    public Logger err(@Nullable final Throwable cause, final String descriptionFormat, final Object argument1, final Object argument2) {
 
-        return err( null, cause, descriptionFormat, descriptionArguments );
+        if (isEnabled( LogLevel.ERROR ))
+            emit( LogLevel.ERROR, null, cause, descriptionFormat, argument1, argument2 );
+
+        return this;
     }
 
     /**
      * Log an application error.
-     * <p/>
-     * <p> This level is for all events that indicate failure to comply with the request. </p>
      *
-     * @param descriptionFormat    The format of the event message. See {@link String#format(String, Object...)}.
-     * @param descriptionArguments The arguments to inject into the event message format.
+     * @return Self, for chaining.
+     *
+     * @see #err(Throwable, String, Object...)
+     */
+    public Logger err(@Nullable final Throwable cause, final String descriptionFormat, final Object argument1, final Object argument2, final Object argument3) {
+
+        if (isEnabled( LogLevel.ERROR ))
+            emit( LogLevel.ERROR, null, cause, descriptionFormat, argument1, argument2, argument3 );
+
+        return this;
+    }
+
+    /**
+     * Log an application error.
      *
      * @return Self, for chaining.
+     *
+     * @see #err(Throwable, String, Object...)
      */
-    public Logger err(final String descriptionFormat, final Object... descriptionArguments) {
+    public Logger err(@Nullable final Throwable cause, final String descriptionFormat, final Object argument1, final Object argument2, final Object argument3, final Object argument4) {
 
-        return err( null, descriptionFormat, descriptionArguments );
+        if (isEnabled( LogLevel.ERROR ))
+            emit( LogLevel.ERROR, null, cause, descriptionFormat, argument1, argument2, argument3, argument4 );
+
+        return this;
     }
 
     /**
@@ -337,6 +1183,21 @@ public class Logger implements Serializable {
         return inf( Markers.AUDIT, null, descriptionFormat, descriptionArguments );
     }
 
+    /**
+     * Start a structured user action event.
+     * <p/>
+     * <p>This is the structured form of {@link #audit(String, Object...)}: describe the action with fields and {@link AuditEvent#log()
+     * log} it.</p>
+     *
+     * @param event The name of the action.
+     *
+     * @return The event, to add fields to.
+     */
+    public AuditEvent auditEvent(final String event) {
+
+        return new AuditEvent( this, LogLevel.INFO, Markers.AUDIT, null, "audit", event );
+    }
+
     /**
      * Log an internal inconsistency.
      * <p/>
@@ -418,19 +1279,147 @@ public class Logger implements Serializable {
         return security( null, descriptionFormat, descriptionArguments );
     }
 
+    /**
+     * Start a structured security concern event.
+     * <p/>
+     * <p>This is the structured form of {@link #security(Throwable, String, Object...)}: describe the concern with fields and {@link
+     * AuditEvent#log() log} it.</p>
+     *
+     * @param cause A throwable that details the stack at the time of this event.
+     * @param event The name of the concern.
+     *
+     * @return The event, to add fields to.
+     */
+    public AuditEvent securityEvent(@Nullable final Throwable cause, final String event) {
+
+        return new AuditEvent( this, LogLevel.WARN, Markers.SECURITY, cause, "security", event );
+    }
+
+    /**
+     * Start a structured security concern event.
+     *
+     * @param event The name of the concern.
+     *
+     * @return The event, to add fields to.
+     *
+     * @see #securityEvent(Throwable, String)
+     */
+    public AuditEvent securityEvent(final String event) {
+
+        return securityEvent( null, event );
+    }
+
+    /**
+     * Wait until the events that were logged before this call have been emitted.
+     * <p/>
+     * <p> This only has an effect when {@link #ASYNC_PROPERTY asynchronous logging} is enabled; otherwise events are emitted before the
+     * logging call returns. </p>
+     */
+    public static void flush() {
+
+        if (ASYNC)
+            AsyncAppender.flush( -1 );
+    }
+
+    /**
+     * Make all loggers check the logging configuration again for the levels that are enabled.  Call this after changing the levels of a
+     * backend that doesn't report such changes (see {@link #LEVEL_REFRESH_PROPERTY}).
+     */
+    public static void refreshLevels() {
+
+        levelsGeneration.incrementAndGet();
+    }
+
+    // Level checks --
+
+    public boolean isTraceEnabled() {
+
+        return isEnabled( LogLevel.TRACE );
+    }
+
+    public boolean isDebugEnabled() {
+
+        return isEnabled( LogLevel.DEBUG );
+    }
+
+    public boolean isInfoEnabled() {
+
+        return isEnabled( LogLevel.INFO );
+    }
+
+    public boolean isWarnEnabled() {
+
+        return isEnabled( LogLevel.WARN );
+    }
+
+    public boolean isErrorEnabled() {
+
+        return isEnabled( LogLevel.ERROR );
+    }
+
     // Internal operation --
 
-    public org.slf4j.Logger slf4j() {
+    String getName() {
+
+        return name;
+    }
+
+    boolean isEnabled(final LogLevel level) {
+
+        long levels = this.levels;
+        if ((int) (levels >>> 32) != levelsGeneration.get())
+            levels = loadLevels();
+
+        return (levels >>> level.ordinal() & 1) != 0;
+    }
+
+    private long loadLevels() {
+
+        // Take the generation before asking the configuration, so that a refresh that races with us makes the next check load again.
+        long levels = (long) levelsGeneration.get() << 32;
+        for (final LogLevel level : LEVELS)
+            if (level.isEnabled( logger ))
+                levels |= 1L << level.ordinal();
+
+        return this.levels = levels;
+    }
+
+    /**
+     * Emit an event whose level is enabled, unless its call site is over its rate limit.
+     */
+    private void emit(final LogLevel level, @Nullable final Marker marker, @Nullable final Throwable cause, final String descriptionFormat,
+                      final Object... descriptionArguments) {
+
+        if (!RATE_LIMITED || RateLimiter.acquire( this, level, marker, descriptionFormat ))
+            dispatch( level, marker, cause, descriptionFormat, descriptionArguments );
+    }
+
+    /**
+     * Format and emit an event whose level is enabled, or hand it to the asynchronous appender.
+     */
+    void dispatch(final LogLevel level, @Nullable final Marker marker, @Nullable final Throwable cause, final String descriptionFormat,
+                  final Object... descriptionArguments) {
+
+        if (ASYNC)
+            AsyncAppender.append( logger, level, marker, cause, descriptionFormat, descriptionArguments );
+        else
+            level.log( logger, marker, cause, LogLevel.format( descriptionFormat, descriptionArguments ) );
+    }
 
-        if (logger == null) {
-            logger = LoggerFactory.getLogger( name );
-        }
+    public org.slf4j.Logger slf4j() {
 
         return logger;
     }
 
+    private Object readResolve() {
+
+        return new Logger( name );
+    }
+
     private Logger(final String name) {
 
         this.name = name;
+        logger = LoggerFactory.getLogger( name );
+        loadLevels();
     }
 }
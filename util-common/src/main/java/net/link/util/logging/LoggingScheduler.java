@@ -0,0 +1,26 @@
+package net.link.util.logging;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.concurrent.*;
+
+
+/**
+ * The daemon thread that runs the periodic housekeeping of {@link Logger}s.
+ */
+final class LoggingScheduler {
+
+    private static final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setDaemon( true ).setNameFormat( "net.link.util.logging" ).build() );
+
+    /**
+     * Run a task periodically.  The task must not throw, or it won't be run again.
+     */
+    static void scheduleEvery(final long millis, final Runnable task) {
+
+        executor.scheduleWithFixedDelay( task, millis, millis, TimeUnit.MILLISECONDS );
+    }
+
+    private LoggingScheduler() {
+
+    }
+}
@@ -1,5 +1,6 @@
 package net.link.util.logging;
 
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Marker;
 import org.slf4j.helpers.BasicMarkerFactory;
 
@@ -14,4 +15,12 @@ public abstract class Markers {
     public static final Marker AUDIT    = factory.getMarker( "AUDIT" );
     public static final Marker BUG      = factory.getMarker( "BUG" );
     public static final Marker SECURITY = factory.getMarker( "SECURITY" );
+
+    /**
+     * @return {@code true} if events with the given marker must be emitted even when others are dropped or suppressed.
+     */
+    static boolean mustKeep(@Nullable final Marker marker) {
+
+        return marker != null && (marker.contains( AUDIT ) || marker.contains( BUG ));
+    }
 }
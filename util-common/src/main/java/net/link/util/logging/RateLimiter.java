@@ -0,0 +1,172 @@
+package net.link.util.logging;
+
+import com.google.common.cache.*;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
+
+
+/**
+ * Limits how often events are emitted from the same call site, identified by its logger, level and format.
+ * <p/>
+ * Each call site has a token bucket that holds up to {@link Logger#RATE_LIMIT_BURST_PROPERTY} events and refills at {@link
+ * Logger#RATE_LIMIT_PROPERTY} events per second.  Events that find the bucket empty are suppressed and counted; every so often the count
+ * of suppressed events is logged for each call site.  Events marked {@link Markers#AUDIT} or {@link Markers#BUG} are never suppressed.
+ */
+final class RateLimiter {
+
+    private static final int    RATE                     = Integer.getInteger( Logger.RATE_LIMIT_PROPERTY, 0 );
+    private static final int    BURST                    = Math.max( 1, Integer.getInteger( Logger.RATE_LIMIT_BURST_PROPERTY, RATE ) );
+    private static final int    MAX_CALL_SITES           = 10000;
+    private static final long   SUMMARY_INTERVAL_SECONDS = 10;
+    private static final double NANOS_PER_SECOND         = TimeUnit.SECONDS.toNanos( 1 );
+
+    private static final ConcurrentMap<CallSite, Bucket> buckets =
+            CacheBuilder.newBuilder().maximumSize( MAX_CALL_SITES ).removalListener( new Summarizer() ).build().asMap();
+
+    static {
+        LoggingScheduler.scheduleEvery( TimeUnit.SECONDS.toMillis( SUMMARY_INTERVAL_SECONDS ), new Summarizer() );
+    }
+
+    /**
+     * @return {@code true} if the event may be emitted, {@code false} if it should be suppressed.
+     */
+    static boolean acquire(final Logger logger, final LogLevel level, @Nullable final Marker marker, final String descriptionFormat) {
+
+        if (Markers.mustKeep( marker ))
+            return true;
+
+        CallSite callSite = new CallSite( logger, level, descriptionFormat );
+        Bucket bucket = buckets.get( callSite );
+        if (bucket == null) {
+            Bucket newBucket = new Bucket();
+            bucket = buckets.putIfAbsent( callSite, newBucket );
+            if (bucket == null)
+                bucket = newBucket;
+        }
+
+        return bucket.acquire();
+    }
+
+    /**
+     * Logs how many events were suppressed at each call site, periodically and when a call site is evicted.
+     */
+    private static final class Summarizer implements Runnable, RemovalListener<CallSite, Bucket> {
+
+        private static final org.slf4j.Logger logger = LoggerFactory.getLogger( RateLimiter.class );
+
+        @Override
+        public void run() {
+
+            for (final Map.Entry<CallSite, Bucket> entry : buckets.entrySet())
+                summarize( entry.getKey(), entry.getValue() );
+        }
+
+        @Override
+        public void onRemoval(final RemovalNotification<CallSite, Bucket> notification) {
+
+            summarize( notification.getKey(), notification.getValue() );
+        }
+
+        private static void summarize(@Nullable final CallSite callSite, @Nullable final Bucket bucket) {
+
+            if (callSite == null || bucket == null)
+                return;
+
+            // A call site that is evicted is summarized early, so take the interval from the bucket rather than the schedule.
+            long suppressed, seconds;
+            synchronized (bucket) {
+                seconds = bucket.secondsSinceSummary();
+                suppressed = bucket.takeSuppressed();
+            }
+            if (suppressed > 0)
+                try {
+                    callSite.logger.dispatch( callSite.level, null, null, "Suppressed %d similar messages in the last %d seconds: %s",
+                            suppressed, seconds, callSite.descriptionFormat );
+                }
+                catch (final RuntimeException e) {
+                    // Keep summarizing the other call sites.
+                    logger.warn( String.format( "Couldn't log the suppressed message count for: %s", callSite.descriptionFormat ), e );
+                }
+        }
+    }
+
+
+    private static final class CallSite {
+
+        private final Logger   logger;
+        private final LogLevel level;
+        private final String   descriptionFormat;
+
+        CallSite(final Logger logger, final LogLevel level, final String descriptionFormat) {
+
+            this.logger = logger;
+            this.level = level;
+            this.descriptionFormat = descriptionFormat;
+        }
+
+        @Override
+        public int hashCode() {
+
+            return (System.identityHashCode( logger ) * 31 + level.hashCode()) * 31 + descriptionFormat.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+
+            if (!(obj instanceof CallSite))
+                return false;
+
+            CallSite other = (CallSite) obj;
+            return logger == other.logger && level == other.level && descriptionFormat.equals( other.descriptionFormat );
+        }
+    }
+
+
+    private static final class Bucket {
+
+        private double tokens     = BURST;
+        private long   refilled   = System.nanoTime();
+        private long   summarized = refilled;
+        private long   suppressed;
+
+        synchronized boolean acquire() {
+
+            long now = System.nanoTime();
+            tokens = Math.min( BURST, tokens + (now - refilled) * RATE / NANOS_PER_SECOND );
+            refilled = now;
+
+            if (tokens >= 1) {
+                --tokens;
+                return true;
+            }
+
+            ++suppressed;
+            return false;
+        }
+
+        /**
+         * @return The number of seconds (at least one) since the suppressed events were last taken, or since the bucket was created.
+         */
+        synchronized long secondsSinceSummary() {
+
+            return Math.max( 1, (long) Math.ceil( (System.nanoTime() - summarized) / NANOS_PER_SECOND ) );
+        }
+
+        synchronized long takeSuppressed() {
+
+            long suppressed = this.suppressed;
+            this.suppressed = 0;
+            summarized = System.nanoTime();
+
+            return suppressed;
+        }
+    }
+
+    private RateLimiter() {
+
+    }
+}
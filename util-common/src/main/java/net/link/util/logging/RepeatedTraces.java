@@ -0,0 +1,67 @@
+package net.link.util.logging;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Sets;
+import java.util.*;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import org.jetbrains.annotations.Nullable;
+
+
+/**
+ * Remembers the stack traces that were emitted recently, so that an identical stack trace need not be rendered again.
+ * <p/>
+ * Two throwables have identical stack traces if they and their causes are of the same types and were thrown from the same frames; their
+ * messages may differ.  A stack trace is remembered for {@link Logger#REPEATED_TRACE_INTERVAL_PROPERTY} milliseconds after it is emitted.
+ */
+final class RepeatedTraces {
+
+    private static final long INTERVAL_MILLIS = Long.getLong( Logger.REPEATED_TRACE_INTERVAL_PROPERTY, 0 );
+    private static final int  MAX_TRACES      = 1000;
+
+    @Nullable
+    private static final ConcurrentMap<Trace, Boolean> emitted = INTERVAL_MILLIS <= 0? null: CacheBuilder.newBuilder()
+            .maximumSize( MAX_TRACES ).expireAfterWrite( INTERVAL_MILLIS, TimeUnit.MILLISECONDS ).<Trace, Boolean>build().asMap();
+
+    /**
+     * @return {@code true} if an identical stack trace was emitted recently.  If not, the throwable's stack trace is remembered as emitted
+     * now.
+     */
+    static boolean isRepeated(final Throwable cause) {
+
+        return emitted != null && emitted.putIfAbsent( new Trace( cause ), Boolean.TRUE ) != null;
+    }
+
+    private static final class Trace {
+
+        private final List<Object> frames = new ArrayList<Object>();
+        private final int          hashCode;
+
+        Trace(final Throwable throwable) {
+
+            Set<Throwable> seen = Sets.newIdentityHashSet();
+            for (Throwable t = throwable; t != null && seen.add( t ); t = t.getCause()) {
+                frames.add( t.getClass() );
+                Collections.addAll( frames, t.getStackTrace() );
+            }
+
+            hashCode = frames.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+
+            return obj instanceof Trace && hashCode == ((Trace) obj).hashCode && frames.equals( ((Trace) obj).frames );
+        }
+    }
+
+    private RepeatedTraces() {
+
+    }
+}
@@ -2,13 +2,17 @@ package net.link.util.util;
 
 import com.google.common.base.Charsets;
 import com.google.common.base.Preconditions;
-import java.io.UnsupportedEncodingException;
+import java.io.*;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.nio.charset.Charset;
 import java.security.MessageDigest;
-import java.util.Formatter;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
 import net.link.util.logging.Logger;
 import org.bouncycastle.util.encoders.Base64;
 import org.jetbrains.annotations.Nullable;
@@ -24,9 +28,34 @@ public abstract class CodeUtils {
 
     static final Logger logger = Logger.get( CodeUtils.class );
 
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+    private static final byte[] HEX_VALUES = new byte['f' + 1];
+
+    private static final int    BASE64_BLOCK   = 16 * 1024;
+    private static final char[] BASE64_DIGITS  = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+    private static final byte[] BASE64_ASCII   = new byte[BASE64_DIGITS.length];
+    private static final byte   BASE64_INVALID = -1, BASE64_WHITESPACE = -2, BASE64_PADDING = -3;
+    private static final byte[] BASE64_VALUES  = new byte['z' + 1];
+
+    static {
+        Arrays.fill( BASE64_VALUES, BASE64_INVALID );
+        BASE64_VALUES[' '] = BASE64_VALUES['\t'] = BASE64_VALUES['\r'] = BASE64_VALUES['\n'] = BASE64_WHITESPACE;
+        BASE64_VALUES['='] = BASE64_PADDING;
+        for (int digit = 0; digit < BASE64_DIGITS.length; ++digit) {
+            BASE64_ASCII[digit] = (byte) BASE64_DIGITS[digit];
+            BASE64_VALUES[BASE64_DIGITS[digit]] = (byte) digit;
+        }
+
+        Arrays.fill( HEX_VALUES, (byte) -1 );
+        for (int digit = 0; digit < 16; ++digit) {
+            HEX_VALUES[HEX_DIGITS[digit]] = (byte) digit;
+            HEX_VALUES[Character.toLowerCase( HEX_DIGITS[digit] )] = (byte) digit;
+        }
+    }
+
     public static byte[] digest(final MessageDigests digest, final String input, final Charset charset) {
 
-        return digest( digest.get(), input, charset );
+        return digest.of( input.getBytes( charset ) );
     }
 
     public static byte[] digest(final MessageDigest digest, final String input, final Charset charset) {
@@ -36,7 +65,7 @@ public abstract class CodeUtils {
 
     public static byte[] digest(final MessageDigests digest, final byte[] input) {
 
-        return digest( digest.get(), input );
+        return digest.of( input );
     }
 
     public static byte[] digest(final MessageDigest digest, final byte[] input) {
@@ -44,6 +73,11 @@ public abstract class CodeUtils {
         return digest.digest( input );
     }
 
+    public static Map<MessageDigests, byte[]> digest(final Set<MessageDigests> digests, final byte[] input) {
+
+        return MessageDigests.ofAll( digests, input );
+    }
+
     public static String encodeHex(@Nullable final byte[] data) {
 
         return encodeHex( data, false );
@@ -51,38 +85,130 @@ public abstract class CodeUtils {
 
     public static String encodeHex(@Nullable final byte[] data, final boolean pretty) {
 
-        StringBuilder bytes = new StringBuilder( data == null? 0: (data.length + (pretty? 1: 0)) * 2 );
+        if (data == null)
+            return "";
 
-        Formatter formatter = null;
-        try {
-            formatter = new Formatter( bytes );
-            String format = String.format( "%%02X%s", pretty? ":": "" );
+        char[] hex = new char[hexLength( data.length, pretty )];
+        encodeHex( data, 0, data.length, pretty, hex, 0 );
 
-            if (data != null)
-                for (final byte b : data)
-                    formatter.format( format, b );
-        }
-        finally {
-            if (null != formatter)
-                formatter.close();
-        }
+        return new String( hex );
+    }
 
-        if (pretty && bytes.length() > 0)
-            bytes.deleteCharAt( bytes.length() - 1 );
+    /**
+     * @param length The amount of bytes to encode.
+     * @param pretty <code>true</code> if the bytes will be separated by colons.
+     *
+     * @return The amount of characters needed to hex-encode the given amount of bytes.
+     */
+    public static int hexLength(final int length, final boolean pretty) {
 
-        return bytes.toString();
+        return pretty? Math.max( 0, length * 3 - 1 ): length * 2;
     }
 
+    /**
+     * Hex-encode bytes into a character buffer, using upper-case digits.
+     *
+     * @param data      The bytes to encode.
+     * @param offset    The index of the first byte to encode.
+     * @param length    The amount of bytes to encode.
+     * @param pretty    <code>true</code> to separate the bytes by colons (eg. {@code 0A:FF}).
+     * @param hex       The buffer to write the hex characters into.  It must have room for {@link #hexLength(int, boolean)} characters.
+     * @param hexOffset The index in the buffer of the first hex character to write.
+     *
+     * @return The amount of characters written.
+     */
+    public static int encodeHex(final byte[] data, final int offset, final int length, final boolean pretty, final char[] hex,
+                                final int hexOffset) {
+
+        int h = hexOffset;
+        for (int d = offset; d < offset + length; ++d) {
+            if (pretty && d > offset)
+                hex[h++] = ':';
+            hex[h++] = HEX_DIGITS[data[d] >> 4 & 0xF];
+            hex[h++] = HEX_DIGITS[data[d] & 0xF];
+        }
+
+        return h - hexOffset;
+    }
+
+    /**
+     * Decode a hex string in either the plain ({@code 0AFF}) or the pretty ({@code 0A:FF}) form of {@link #encodeHex(byte[], boolean)}.
+     * Digits may be upper- or lower-case.
+     *
+     * @param hexString The hex characters to decode.
+     *
+     * @return The decoded bytes, or an empty array if the hex string is {@code null}.
+     *
+     * @throws IllegalArgumentException If the hex string does not contain a whole amount of bytes.
+     * @throws NumberFormatException    If the hex string contains a character that is not a hex digit or a separator in its place.
+     */
     public static byte[] decodeHex(@Nullable final String hexString) {
 
         if (hexString == null)
             return new byte[0];
 
-        byte[] deviceToken = new byte[hexString.length() / 2];
-        for (int i = 0; i < hexString.length(); i += 2)
-            deviceToken[i / 2] = Integer.valueOf( hexString.substring( i, i + 2 ), 16 ).byteValue();
+        byte[] data = new byte[decodedHexLength( hexString )];
+        decodeHex( hexString, data, 0 );
 
-        return deviceToken;
+        return data;
+    }
+
+    /**
+     * Decode a hex string in either the plain or the pretty form into a byte buffer.
+     *
+     * @param hexString  The hex characters to decode.
+     * @param data       The buffer to write the bytes into.  It must have room for all the bytes encoded by the hex string.
+     * @param dataOffset The index in the buffer of the first byte to write.
+     *
+     * @return The amount of bytes written.
+     *
+     * @throws IllegalArgumentException If the hex string does not contain a whole amount of bytes.
+     * @throws NumberFormatException    If the hex string contains a character that is not a hex digit or a separator in its place.
+     * @see #decodeHex(String)
+     */
+    public static int decodeHex(final CharSequence hexString, final byte[] data, final int dataOffset) {
+
+        int length = decodedHexLength( hexString );
+        int stride = isPrettyHex( hexString )? 3: 2;
+        for (int d = 0, h = 0; d < length; ++d, h += stride) {
+            if (stride == 3 && h > 0 && hexString.charAt( h - 1 ) != ':')
+                throw new NumberFormatException( String.format( "Expected a ':' separator at %d: %s", h - 1, hexString ) );
+
+            data[dataOffset + d] = (byte) (hexDigit( hexString, h ) << 4 | hexDigit( hexString, h + 1 ));
+        }
+
+        return length;
+    }
+
+    private static int decodedHexLength(final CharSequence hexString) {
+
+        int length = hexString.length();
+        if (isPrettyHex( hexString )) {
+            if (length % 3 != 2)
+                throw new IllegalArgumentException( String.format( "Not a whole amount of ':'-separated hex bytes: %s", hexString ) );
+
+            return (length + 1) / 3;
+        }
+
+        if (length % 2 != 0)
+            throw new IllegalArgumentException( String.format( "Odd amount of hex digits: %s", hexString ) );
+
+        return length / 2;
+    }
+
+    private static boolean isPrettyHex(final CharSequence hexString) {
+
+        return hexString.length() > 2 && hexString.charAt( 2 ) == ':';
+    }
+
+    private static int hexDigit(final CharSequence hexString, final int index) {
+
+        char c = hexString.charAt( index );
+        int digit = c < HEX_VALUES.length? HEX_VALUES[c]: -1;
+        if (digit < 0)
+            throw new NumberFormatException( String.format( "Not a hex digit at %d: %s", index, hexString ) );
+
+        return digit;
     }
 
     /**
@@ -141,18 +267,40 @@ public abstract class CodeUtils {
 
     public static String decodeBase64(@Nullable final String encoded) {
 
-        return null != encoded? new String( Base64.decode( encoded.getBytes( Charsets.UTF_8 ) ), Charsets.UTF_8 ): null;
+        return decodeBase64( encoded, Charsets.UTF_8 );
+    }
+
+    /**
+     * @param encoded The base64 encoding of a string's bytes.
+     * @param charset The charset that encoded the string into bytes.
+     *
+     * @return The decoded string.
+     */
+    public static String decodeBase64(@Nullable final String encoded, final Charset charset) {
+
+        return null != encoded? new String( Base64.decode( encoded ), charset ): null;
     }
 
     @Nullable
     public static byte[] decodeBase64ToBytes(@Nullable final String encoded) {
 
-        return null != encoded? Base64.decode( encoded.getBytes( Charsets.UTF_8 ) ): null;
+        return null != encoded? Base64.decode( encoded ): null;
     }
 
     public static String encodeBase64(@Nullable final String content) {
 
-        return null != content? Base64.toBase64String( content.getBytes( Charsets.UTF_8 ) ): null;
+        return encodeBase64( content, Charsets.UTF_8 );
+    }
+
+    /**
+     * @param content The string to encode.
+     * @param charset The charset to encode the string into bytes with.
+     *
+     * @return The base64 encoding of the string's bytes.
+     */
+    public static String encodeBase64(@Nullable final String content, final Charset charset) {
+
+        return null != content? Base64.toBase64String( content.getBytes( charset ) ): null;
     }
 
     public static String encodeBase64(@Nullable final byte[] content) {
@@ -160,4 +308,216 @@ public abstract class CodeUtils {
         return null != content? Base64.toBase64String( content ): null;
     }
 
+    /**
+     * @param length The amount of bytes to encode.
+     *
+     * @return The amount of characters needed to base64-encode the given amount of bytes, including padding.
+     */
+    public static int base64Length(final int length) {
+
+        return (length + 2) / 3 * 4;
+    }
+
+    /**
+     * Base64-encode the remaining bytes of a buffer into a character buffer, including padding.
+     *
+     * @param data   The bytes to encode.  Its position is advanced to its limit.
+     * @param base64 The buffer to write the base64 characters into.  It must have room for {@link #base64Length(int)} characters.
+     */
+    public static void encodeBase64(final ByteBuffer data, final CharBuffer base64) {
+
+        while (data.remaining() >= 3) {
+            int group = (data.get() & 0xFF) << 16 | (data.get() & 0xFF) << 8 | data.get() & 0xFF;
+            base64.put( BASE64_DIGITS[group >>> 18] ).put( BASE64_DIGITS[group >>> 12 & 0x3F] ) //
+                    .put( BASE64_DIGITS[group >>> 6 & 0x3F] ).put( BASE64_DIGITS[group & 0x3F] );
+        }
+
+        int remaining = data.remaining();
+        if (remaining > 0) {
+            int group = (data.get() & 0xFF) << 16 | (remaining > 1? (data.get() & 0xFF) << 8: 0);
+            base64.put( BASE64_DIGITS[group >>> 18] ).put( BASE64_DIGITS[group >>> 12 & 0x3F] ) //
+                    .put( remaining > 1? BASE64_DIGITS[group >>> 6 & 0x3F]: '=' ).put( '=' );
+        }
+    }
+
+    /**
+     * Base64-encode the remaining bytes of a buffer into a buffer of ASCII characters, including padding.
+     *
+     * @param data   The bytes to encode.  Its position is advanced to its limit.
+     * @param base64 The buffer to write the base64 characters into.  It must have room for {@link #base64Length(int)} characters.
+     */
+    public static void encodeBase64(final ByteBuffer data, final ByteBuffer base64) {
+
+        encodeBase64( data, base64, true );
+    }
+
+    /**
+     * Base64-encode a stream's bytes into another stream as ASCII characters, including padding.  Neither stream is closed.
+     *
+     * @param data   The stream of bytes to encode.
+     * @param base64 The stream to write the base64 characters into.
+     *
+     * @throws IOException If either stream failed.
+     */
+    public static void encodeBase64(final InputStream data, final OutputStream base64)
+            throws IOException {
+
+        // The bytes of an incomplete group are carried over at the start of the data buffer and only its remainder is read into, so a
+        // full data buffer is all there ever is to encode at once.
+        ByteBuffer dataBuffer = ByteBuffer.allocate( BASE64_BLOCK * 3 );
+        ByteBuffer base64Buffer = ByteBuffer.allocate( base64Length( dataBuffer.capacity() ) );
+        for (int read; (read = data.read( dataBuffer.array(), dataBuffer.position(), dataBuffer.remaining() )) != -1; ) {
+            dataBuffer.position( dataBuffer.position() + read );
+            dataBuffer.flip();
+            encodeBase64( dataBuffer, base64Buffer, false );
+            dataBuffer.compact();
+
+            base64.write( base64Buffer.array(), 0, base64Buffer.position() );
+            base64Buffer.clear();
+        }
+
+        dataBuffer.flip();
+        encodeBase64( dataBuffer, base64Buffer, true );
+        base64.write( base64Buffer.array(), 0, base64Buffer.position() );
+    }
+
+    private static void encodeBase64(final ByteBuffer data, final ByteBuffer base64, final boolean endOfData) {
+
+        while (data.remaining() >= 3) {
+            int group = (data.get() & 0xFF) << 16 | (data.get() & 0xFF) << 8 | data.get() & 0xFF;
+            base64.put( BASE64_ASCII[group >>> 18] ).put( BASE64_ASCII[group >>> 12 & 0x3F] ) //
+                    .put( BASE64_ASCII[group >>> 6 & 0x3F] ).put( BASE64_ASCII[group & 0x3F] );
+        }
+
+        int remaining = data.remaining();
+        if (endOfData && remaining > 0) {
+            int group = (data.get() & 0xFF) << 16 | (remaining > 1? (data.get() & 0xFF) << 8: 0);
+            base64.put( BASE64_ASCII[group >>> 18] ).put( BASE64_ASCII[group >>> 12 & 0x3F] ) //
+                    .put( remaining > 1? BASE64_ASCII[group >>> 6 & 0x3F]: (byte) '=' ).put( (byte) '=' );
+        }
+    }
+
+    /**
+     * @param length The amount of base64 characters to decode.
+     *
+     * @return The maximum amount of bytes that the given amount of base64 characters decode into.
+     */
+    public static int decodedBase64Length(final int length) {
+
+        return (length + 3) / 4 * 3;
+    }
+
+    /**
+     * Decode the remaining base64 characters of a buffer into a byte buffer.  Whitespace is ignored and padding is optional.
+     *
+     * @param base64 The base64 characters to decode.  Its position is advanced to its limit.
+     * @param data   The buffer to write the bytes into.  It must have room for {@link #decodedBase64Length(int)} bytes.
+     *
+     * @throws IllegalArgumentException If the characters contain a character outside of the base64 alphabet or an incomplete byte.
+     */
+    public static void decodeBase64(final CharBuffer base64, final ByteBuffer data) {
+
+        Base64Decoder decoder = new Base64Decoder();
+        decoder.decode( base64, data );
+        decoder.finish( data );
+    }
+
+    /**
+     * Decode the remaining base64 ASCII characters of a buffer into a byte buffer.  Whitespace is ignored and padding is optional.
+     *
+     * @param base64 The base64 characters to decode.  Its position is advanced to its limit.
+     * @param data   The buffer to write the bytes into.  It must have room for {@link #decodedBase64Length(int)} bytes.
+     *
+     * @throws IllegalArgumentException If the characters contain a character outside of the base64 alphabet or an incomplete byte.
+     */
+    public static void decodeBase64(final ByteBuffer base64, final ByteBuffer data) {
+
+        Base64Decoder decoder = new Base64Decoder();
+        decoder.decode( base64, data );
+        decoder.finish( data );
+    }
+
+    /**
+     * Decode a stream of base64 ASCII characters into a stream of bytes.  Whitespace is ignored and padding is optional.  Neither stream
+     * is closed.
+     *
+     * @param base64 The stream of base64 characters to decode.
+     * @param data   The stream to write the bytes into.
+     *
+     * @throws IOException              If either stream failed.
+     * @throws IllegalArgumentException If the characters contain a character outside of the base64 alphabet or an incomplete byte.
+     */
+    public static void decodeBase64(final InputStream base64, final OutputStream data)
+            throws IOException {
+
+        // The decoder carries up to three digits of an incomplete group over from the previous block, which decode along with this one.
+        Base64Decoder decoder = new Base64Decoder();
+        ByteBuffer base64Buffer = ByteBuffer.allocate( BASE64_BLOCK * 4 );
+        ByteBuffer dataBuffer = ByteBuffer.allocate( decodedBase64Length( base64Buffer.capacity() + 3 ) );
+        for (int read; (read = base64.read( base64Buffer.array() )) != -1; ) {
+            base64Buffer.limit( read );
+            decoder.decode( base64Buffer, dataBuffer );
+            base64Buffer.clear();
+
+            data.write( dataBuffer.array(), 0, dataBuffer.position() );
+            dataBuffer.clear();
+        }
+
+        decoder.finish( dataBuffer );
+        data.write( dataBuffer.array(), 0, dataBuffer.position() );
+    }
+
+    /**
+     * Decodes base64 characters into bytes, carrying the bits of an incomplete group of four characters from one buffer into the next.
+     */
+    private static final class Base64Decoder {
+
+        private int group;
+        private int digits;
+
+        void decode(final CharBuffer base64, final ByteBuffer data) {
+
+            while (base64.hasRemaining()) {
+                char c = base64.get();
+                decode( c < BASE64_VALUES.length? BASE64_VALUES[c]: BASE64_INVALID, c, data );
+            }
+        }
+
+        void decode(final ByteBuffer base64, final ByteBuffer data) {
+
+            while (base64.hasRemaining()) {
+                int c = base64.get() & 0xFF;
+                decode( c < BASE64_VALUES.length? BASE64_VALUES[c]: BASE64_INVALID, c, data );
+            }
+        }
+
+        private void decode(final int value, final int c, final ByteBuffer data) {
+
+            if (value >= 0) {
+                group = group << 6 | value;
+                if (++digits == 4) {
+                    data.put( (byte) (group >>> 16) ).put( (byte) (group >>> 8) ).put( (byte) group );
+                    group = digits = 0;
+                }
+            } else if (value == BASE64_PADDING)
+                finish( data );
+            else if (value == BASE64_INVALID)
+                throw new IllegalArgumentException( String.format( "Not a base64 character: 0x%02X", c ) );
+        }
+
+        /**
+         * Write the bytes of a final group that is incomplete because it was padded or truncated.
+         */
+        void finish(final ByteBuffer data) {
+
+            if (digits == 1)
+                throw new IllegalArgumentException( "Base64 characters end with an incomplete byte." );
+            if (digits == 2)
+                data.put( (byte) (group >>> 4) );
+            else if (digits == 3)
+                data.put( (byte) (group >>> 10) ).put( (byte) (group >>> 2) );
+
+            group = digits = 0;
+        }
+    }
 }
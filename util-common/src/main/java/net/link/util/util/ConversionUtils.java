@@ -3,8 +3,12 @@ package net.link.util.util;
 import static com.google.common.base.Preconditions.*;
 
 import com.google.common.base.Optional;
+import java.math.BigInteger;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.text.ParsePosition;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import net.link.util.InternalInconsistencyException;
@@ -20,6 +24,17 @@ public class ConversionUtils {
 
     static final Logger logger = Logger.get( ConversionUtils.class );
 
+    /**
+     * The largest number of significant decimal digits that are always exactly representable as a double.
+     */
+    private static final int      EXACT_DOUBLE_DIGITS = 15;
+    /**
+     * The powers of ten that are exactly representable as a double.
+     */
+    private static final double[] EXACT_POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
     /**
      * Convert an object into a long in a semi-safe way. We parse {@link Object#toString()} and return {@code null} rather than throw an
      * exception if the result is not a valid {@link Long}.
@@ -33,13 +48,10 @@ public class ConversionUtils {
         if (object == null || object instanceof Long)
             return Optional.fromNullable( (Long) object );
 
-        try {
-            return Optional.of( Long.valueOf( object.toString() ) );
-        }
-        catch (final NumberFormatException e) {
-            logger.wrn( e, "Malformed long: %s", object );
-            return Optional.absent();
-        }
+        ParsePosition position = new ParsePosition( 0 );
+        long value = toLong( object, position );
+
+        return position.getErrorIndex() < 0? Optional.of( value ): Optional.<Long>absent();
     }
 
     /**
@@ -54,16 +66,8 @@ public class ConversionUtils {
 
         if (object == null)
             return 0;
-        if (object instanceof Long)
-            return (Long) object;
 
-        try {
-            return Long.valueOf( object.toString() );
-        }
-        catch (final NumberFormatException e) {
-            logger.wrn( e, "Malformed long: %s", object );
-            return 0;
-        }
+        return toLong( object, new ParsePosition( 0 ) );
     }
 
     /**
@@ -83,13 +87,10 @@ public class ConversionUtils {
         if (object instanceof Integer)
             return (Integer) object;
 
-        try {
-            return Integer.valueOf( object.toString() );
-        }
-        catch (final NumberFormatException e) {
-            logger.wrn( e, "Malformed integer: %s", object );
-            return null;
-        }
+        ParsePosition position = new ParsePosition( 0 );
+        int value = toInteger( object, position );
+
+        return position.getErrorIndex() < 0? value: null;
     }
 
     /**
@@ -104,18 +105,8 @@ public class ConversionUtils {
 
         if (object == null)
             return 0;
-        if (Integer.class.isInstance( object ))
-            return (Integer) object;
-        if (Integer.TYPE.isInstance( object ))
-            return (Integer) object;
 
-        try {
-            return Integer.valueOf( object.toString() );
-        }
-        catch (final NumberFormatException e) {
-            logger.wrn( e, "Malformed integer: %s", object );
-            return 0;
-        }
+        return toInteger( object, new ParsePosition( 0 ) );
     }
 
     /**
@@ -132,13 +123,10 @@ public class ConversionUtils {
         if (object == null || object instanceof Double)
             return Optional.fromNullable( (Double) object );
 
-        try {
-            return Optional.of( Double.parseDouble( object.toString() ) );
-        }
-        catch (final NumberFormatException e) {
-            logger.wrn( e, "Malformed double: %s", object );
-            return Optional.absent();
-        }
+        ParsePosition position = new ParsePosition( 0 );
+        double value = toDouble( object, position );
+
+        return position.getErrorIndex() < 0? Optional.of( value ): Optional.<Double>absent();
     }
 
     /**
@@ -153,16 +141,8 @@ public class ConversionUtils {
 
         if (object == null)
             return 0;
-        if (object instanceof Double)
-            return (Double) object;
 
-        try {
-            return Double.valueOf( object.toString() );
-        }
-        catch (final NumberFormatException e) {
-            logger.wrn( e, "Malformed double: %s", object );
-            return 0;
-        }
+        return toDouble( object, new ParsePosition( 0 ) );
     }
 
     /**
@@ -181,7 +161,7 @@ public class ConversionUtils {
         if (object == null || object instanceof Boolean)
             return Optional.fromNullable( (Boolean) object );
 
-        return Optional.of( Boolean.parseBoolean( object.toString() ) );
+        return Optional.of( parseBoolean( chars( object ) ) );
     }
 
     /**
@@ -199,7 +179,257 @@ public class ConversionUtils {
         if (object instanceof Boolean)
             return (Boolean) object;
 
-        return Boolean.parseBoolean( object.toString() );
+        return parseBoolean( chars( object ) );
+    }
+
+    /**
+     * Parse a long without throwing an exception, the way {@link Long#parseLong(String)} would: an optional sign followed by decimal
+     * digits.
+     *
+     * @param chars    The characters to parse, from the position's index up to the end.
+     * @param position On input, where to start parsing.  On output, its index is the end of the characters if they were a valid long, or
+     *                 its error index is where they stopped being one (its error index is {@code -1} otherwise).
+     *
+     * @return The long, or 0 if the characters were not a valid long.
+     */
+    public static long parseLong(@Nullable final CharSequence chars, final ParsePosition position) {
+
+        return parseLong( chars, position, Long.MIN_VALUE, Long.MAX_VALUE );
+    }
+
+    /**
+     * Parse an integer without throwing an exception, the way {@link Integer#parseInt(String)} would: an optional sign followed by
+     * decimal digits.
+     *
+     * @param chars    The characters to parse, from the position's index up to the end.
+     * @param position On input, where to start parsing.  On output, its index is the end of the characters if they were a valid integer,
+     *                 or its error index is where they stopped being one (its error index is {@code -1} otherwise).
+     *
+     * @return The integer, or 0 if the characters were not a valid integer.
+     */
+    public static int parseInt(@Nullable final CharSequence chars, final ParsePosition position) {
+
+        return (int) parseLong( chars, position, Integer.MIN_VALUE, Integer.MAX_VALUE );
+    }
+
+    private static long parseLong(@Nullable final CharSequence chars, final ParsePosition position, final long min, final long max) {
+
+        int start = position.getIndex();
+        position.setErrorIndex( -1 );
+        if (chars == null || start >= chars.length())
+            return malformed( position, start );
+
+        int length = chars.length();
+        int c = start;
+        boolean negative = false;
+        if (chars.charAt( c ) == '-' || chars.charAt( c ) == '+') {
+            negative = chars.charAt( c ) == '-';
+            if (++c == length)
+                return malformed( position, c );
+        }
+
+        // Accumulate negatively, since the negative range is the larger one.
+        long limit = negative? min: -max;
+        long limitBeforeDigit = limit / 10;
+        long result = 0;
+        for (; c < length; ++c) {
+            int digit = Character.digit( chars.charAt( c ), 10 );
+            if (digit < 0 || result < limitBeforeDigit)
+                return malformed( position, c );
+            result *= 10;
+            if (result < limit + digit)
+                return malformed( position, c );
+            result -= digit;
+        }
+
+        position.setIndex( length );
+        return negative? result: -result;
+    }
+
+    /**
+     * Parse a double without throwing an exception, the way {@link Double#parseDouble(String)} would.
+     * <p/>
+     * Decimal numbers with at most 15 significant digits and a small exponent are converted directly, others are handed to {@link
+     * Double#parseDouble(String)} once they are known to be valid.
+     *
+     * @param chars    The characters to parse, from the position's index up to the end.
+     * @param position On input, where to start parsing.  On output, its index is the end of the characters if they were a valid double,
+     *                 or its error index is where they stopped being one (its error index is {@code -1} otherwise).
+     *
+     * @return The double, or 0 if the characters were not a valid double.
+     */
+    public static double parseDouble(@Nullable final CharSequence chars, final ParsePosition position) {
+
+        int start = position.getIndex();
+        position.setErrorIndex( -1 );
+        if (chars == null || start >= chars.length())
+            return malformed( position, start );
+
+        // Like Double#parseDouble, ignore leading and trailing whitespace and control characters.
+        int c = start;
+        int end = chars.length();
+        while (c < end && chars.charAt( c ) <= ' ')
+            ++c;
+        while (end > c && chars.charAt( end - 1 ) <= ' ')
+            --end;
+        if (c == end)
+            return malformed( position, c );
+
+        boolean negative = false;
+        if (chars.charAt( c ) == '-' || chars.charAt( c ) == '+')
+            negative = chars.charAt( c++ ) == '-';
+
+        if (regionEquals( chars, c, end, "NaN" )) {
+            position.setIndex( chars.length() );
+            return Double.NaN;
+        }
+        if (regionEquals( chars, c, end, "Infinity" )) {
+            position.setIndex( chars.length() );
+            return negative? Double.NEGATIVE_INFINITY: Double.POSITIVE_INFINITY;
+        }
+        if (c + 1 < end && chars.charAt( c ) == '0' && (chars.charAt( c + 1 ) == 'x' || chars.charAt( c + 1 ) == 'X'))
+            // Hexadecimal floating point is rare enough to leave to the JDK entirely.
+            try {
+                double value = Double.parseDouble( chars.subSequence( start, chars.length() ).toString() );
+                position.setIndex( chars.length() );
+                return value;
+            }
+            catch (final NumberFormatException ignored) {
+                return malformed( position, start );
+            }
+
+        // The significant digits (up to the first EXACT_DOUBLE_DIGITS) and the power of ten to scale them by.
+        long significand = 0;
+        int significantDigits = 0;
+        int exponent = 0;
+        boolean digits = false;
+        boolean fraction = false;
+        for (; c < end; ++c) {
+            char ch = chars.charAt( c );
+            if (ch == '.' && !fraction) {
+                fraction = true;
+                continue;
+            }
+            if (ch < '0' || ch > '9')
+                break;
+
+            digits = true;
+            if (significantDigits > 0 || ch != '0')
+                if (++significantDigits <= EXACT_DOUBLE_DIGITS)
+                    significand = significand * 10 + ch - '0';
+            if (fraction)
+                --exponent;
+        }
+        if (!digits)
+            return malformed( position, c );
+
+        if (c < end && (chars.charAt( c ) == 'e' || chars.charAt( c ) == 'E')) {
+            if (++c < end && (chars.charAt( c ) == '-' || chars.charAt( c ) == '+'))
+                ++c;
+            boolean exponentNegative = chars.charAt( c - 1 ) == '-';
+            int explicitExponent = 0;
+            int exponentStart = c;
+            for (; c < end && chars.charAt( c ) >= '0' && chars.charAt( c ) <= '9'; ++c)
+                // Saturate: any exponent this large is out of range for a double anyway.
+                explicitExponent = Math.min( explicitExponent * 10 + chars.charAt( c ) - '0', 1000000 );
+            if (c == exponentStart)
+                return malformed( position, c );
+            exponent += exponentNegative? -explicitExponent: explicitExponent;
+        }
+        if (c < end && "fFdD".indexOf( chars.charAt( c ) ) >= 0)
+            ++c;
+        if (c != end)
+            return malformed( position, c );
+
+        position.setIndex( chars.length() );
+        if (significantDigits <= EXACT_DOUBLE_DIGITS && exponent >= -22 && exponent <= 22) {
+            // Both the significand and the power of ten are exact doubles, so a single operation rounds correctly.
+            double value = exponent < 0? significand / EXACT_POWERS_OF_TEN[-exponent]: significand * EXACT_POWERS_OF_TEN[exponent];
+            return negative? -value: value;
+        }
+
+        return Double.parseDouble( chars.subSequence( start, chars.length() ).toString() );
+    }
+
+    /**
+     * Parse a boolean the way {@link Boolean#parseBoolean(String)} would: {@code true} if the characters are {@code "true"}, ignoring
+     * case.
+     */
+    public static boolean parseBoolean(@Nullable final CharSequence chars) {
+
+        return chars != null && chars.length() == 4 //
+               && (chars.charAt( 0 ) | 0x20) == 't' && (chars.charAt( 1 ) | 0x20) == 'r' //
+               && (chars.charAt( 2 ) | 0x20) == 'u' && (chars.charAt( 3 ) | 0x20) == 'e';
+    }
+
+    private static long toLong(final Object object, final ParsePosition position) {
+
+        // Integral numbers whose string form always parses to the same value.
+        if (object instanceof Long || object instanceof Integer || object instanceof Short || object instanceof Byte
+            || object instanceof AtomicLong || object instanceof AtomicInteger)
+            return ((Number) object).longValue();
+        if (object instanceof BigInteger && ((BigInteger) object).bitLength() < Long.SIZE)
+            return ((BigInteger) object).longValue();
+
+        long value = parseLong( chars( object ), position );
+        if (position.getErrorIndex() >= 0)
+            logger.wrn( "Malformed long: %s", object );
+
+        return value;
+    }
+
+    private static int toInteger(final Object object, final ParsePosition position) {
+
+        // Integral numbers whose string form always parses to the same value.
+        if (object instanceof Integer || object instanceof Short || object instanceof Byte || object instanceof AtomicInteger)
+            return ((Number) object).intValue();
+        if ((object instanceof Long || object instanceof AtomicLong) && ((Number) object).longValue() == ((Number) object).intValue())
+            return ((Number) object).intValue();
+        if (object instanceof BigInteger && ((BigInteger) object).bitLength() < Integer.SIZE)
+            return ((BigInteger) object).intValue();
+
+        int value = parseInt( chars( object ), position );
+        if (position.getErrorIndex() >= 0)
+            logger.wrn( "Malformed integer: %s", object );
+
+        return value;
+    }
+
+    private static double toDouble(final Object object, final ParsePosition position) {
+
+        // Numbers whose string form always parses to the same value (unlike, eg. that of a Float).
+        if (object instanceof Double || object instanceof Long || object instanceof Integer || object instanceof Short
+            || object instanceof Byte || object instanceof AtomicLong || object instanceof AtomicInteger || object instanceof BigInteger)
+            return ((Number) object).doubleValue();
+
+        double value = parseDouble( chars( object ), position );
+        if (position.getErrorIndex() >= 0)
+            logger.wrn( "Malformed double: %s", object );
+
+        return value;
+    }
+
+    private static CharSequence chars(final Object object) {
+
+        return object instanceof CharSequence? (CharSequence) object: object.toString();
+    }
+
+    private static boolean regionEquals(final CharSequence chars, final int start, final int end, final String expected) {
+
+        if (end - start != expected.length())
+            return false;
+
+        for (int c = 0; c < expected.length(); ++c)
+            if (chars.charAt( start + c ) != expected.charAt( c ))
+                return false;
+
+        return true;
+    }
+
+    private static int malformed(final ParsePosition position, final int errorIndex) {
+
+        position.setErrorIndex( errorIndex );
+        return 0;
     }
 
     /**
@@ -0,0 +1,18 @@
+package net.link.util.util;
+
+import java.lang.annotation.*;
+
+
+/**
+ * Opt a type (and its subtypes) into generated implementations of {@link ObjectUtils#hashCode(Object)}, {@link
+ * ObjectUtils#equals(Object, Object)} and {@link ObjectUtils#toString(Object)}.
+ * <p/>
+ * The fields selected by the type's {@link ObjectMeta} configuration are compiled into a {@link MetaAccessor} class that reads them
+ * without reflection and hashes and compares primitive values without boxing.  The results are the same as those of the reflective
+ * implementation.  If the accessor cannot be generated, the reflective implementation is used instead.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface GeneratedMeta {
+
+}
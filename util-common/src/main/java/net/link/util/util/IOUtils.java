@@ -1,18 +1,30 @@
 package net.link.util.util;
 
-import com.google.common.io.CharStreams;
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.Reader;
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.MapMaker;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Queues;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.LineReader;
+import java.io.*;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
-import java.util.Enumeration;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 import javax.annotation.Nullable;
+import net.link.util.util.TypeUtils.Visit;
+import net.link.util.util.TypeUtils.Visitor;
 
 
 /**
@@ -22,10 +34,16 @@ import javax.annotation.Nullable;
  */
 public abstract class IOUtils {
 
-    private static final Pattern PATH_SEPARATORS = Pattern.compile( "[\\\\/]+" );
+    /**
+     * The entries of each archive that was searched by {@link #getZipEntry(ZipFile, CharSequence)}.  Archives are weakly referenced so
+     * that they can be released.
+     */
+    private static final ConcurrentMap<ZipFile, ZipIndex> zipIndexes = new MapMaker().weakKeys().makeMap();
 
     /**
      * A sane way of retrieving an entry from a {@link ZipFile} based on its /-delimited path name.
+     * <p/>
+     * The entries of an archive are indexed by their normalized name on the first lookup, so that later lookups need not enumerate them.
      *
      * @param zipFile    The {@link ZipFile} to retrieve the entry for.
      * @param zippedName The /-delimited pathname of the entry.
@@ -35,14 +53,93 @@ public abstract class IOUtils {
     @Nullable
     public static ZipEntry getZipEntry(final ZipFile zipFile, final CharSequence zippedName) {
 
-        Enumeration<? extends ZipEntry> entries = zipFile.entries();
-        while (entries.hasMoreElements()) {
-            ZipEntry entry = entries.nextElement();
-            if (PATH_SEPARATORS.matcher( entry.getName() ).replaceAll( "/" ).equals( PATH_SEPARATORS.matcher( zippedName ).replaceAll( "/" ) ))
-                return entry;
+        return zipIndex( zipFile ).entries.get( normalizeZipName( zippedName ) );
+    }
+
+    /**
+     * Like {@link #getZipEntry(ZipFile, CharSequence)}, but ignoring the case of the pathname.  If several entries differ only in case,
+     * the first one in the archive is returned.
+     *
+     * @param zipFile    The {@link ZipFile} to retrieve the entry for.
+     * @param zippedName The /-delimited pathname of the entry, in any case.
+     *
+     * @return The {@link ZipEntry} for the pathname or {@code null} if none was present.
+     */
+    @Nullable
+    public static ZipEntry getZipEntryIgnoreCase(final ZipFile zipFile, final CharSequence zippedName) {
+
+        return zipIndex( zipFile ).entriesIgnoreCase.get( normalizeZipName( zippedName ).toLowerCase( Locale.ROOT ) );
+    }
+
+    /**
+     * Read the contents of an entry of a {@link ZipFile}.
+     * <p/>
+     * The inflated contents are kept (as long as memory allows) for later reads of the same entry from the same archive, so that entries
+     * that are read repeatedly are only inflated once.
+     *
+     * @param zipFile  The {@link ZipFile} that contains the entry.
+     * @param zipEntry The entry whose contents to read.
+     *
+     * @return A read-only buffer of the entry's contents.
+     *
+     * @throws IOException The entry could not be read from the archive.
+     */
+    public static ByteBuffer readZipEntry(final ZipFile zipFile, final ZipEntry zipEntry)
+            throws IOException {
+
+        try {
+            return ByteBuffer.wrap( zipIndex( zipFile ).contents.get( zipEntry.getName(), new Callable<byte[]>() {
+                @Override
+                public byte[] call()
+                        throws IOException {
+
+                    InputStream stream = zipFile.getInputStream( zipEntry );
+                    try {
+                        return ByteStreams.toByteArray( stream );
+                    }
+                    finally {
+                        stream.close();
+                    }
+                }
+            } ) ).asReadOnlyBuffer();
+        }
+        catch (final ExecutionException e) {
+            Throwables.propagateIfPossible( e.getCause(), IOException.class );
+            throw Throwables.propagate( e.getCause() );
         }
+    }
+
+    private static ZipIndex zipIndex(final ZipFile zipFile) {
+
+        ZipIndex zipIndex = zipIndexes.get( zipFile );
+        if (zipIndex == null) {
+            ZipIndex newZipIndex = new ZipIndex( zipFile );
+            zipIndex = zipIndexes.putIfAbsent( zipFile, newZipIndex );
+            if (zipIndex == null)
+                zipIndex = newZipIndex;
+        }
+
+        return zipIndex;
+    }
+
+    /**
+     * @return The given name with each run of path separators replaced by a single {@code /}.
+     */
+    private static String normalizeZipName(final CharSequence zippedName) {
+
+        StringBuilder normalized = new StringBuilder( zippedName.length() );
+        for (int c = 0; c < zippedName.length(); ++c)
+            if (!isZipSeparator( zippedName.charAt( c ) ))
+                normalized.append( zippedName.charAt( c ) );
+            else if (c == 0 || !isZipSeparator( zippedName.charAt( c - 1 ) ))
+                normalized.append( '/' );
 
-        return null;
+        return normalized.toString();
+    }
+
+    private static boolean isZipSeparator(final char character) {
+
+        return character == '/' || character == '\\';
     }
 
     /**
@@ -124,12 +221,315 @@ public abstract class IOUtils {
             throws IOException {
 
         StringBuilder resultBuilder = new StringBuilder();
-        for (final String line : CharStreams.readLines( reader )) {
-            Matcher matcher = pattern.matcher( line );
-            if (matcher.find())
+        LineReader lineReader = new LineReader( reader );
+        Matcher matcher = pattern.matcher( "" );
+        for (String line; (line = lineReader.readLine()) != null; )
+            if (matcher.reset( line ).find())
                 resultBuilder.append( matcher.group( group ) ).append( System.getProperty( "line.separator" ) );
-        }
 
         return resultBuilder.toString();
     }
+
+    /**
+     * Search for the given pattern in the given file or directory tree, on the calling thread.
+     *
+     * @see #grep(Charset, Pattern, Path, int, int, ForkJoinPool, Visitor)
+     */
+    public static boolean grep(final Charset charset, final Pattern pattern, final Path path, final int group, final int limit,
+                               final Visitor<GrepMatch> visitor)
+            throws IOException {
+
+        return grep( charset, pattern, path, group, limit, null, visitor );
+    }
+
+    /**
+     * Search for the given pattern in the given file or in the files of the given directory tree, handing each match to a visitor as
+     * soon as it is found. The search is line-based and does not take newlines into account, nor does it have the ability to cross them.
+     * Files are read line by line, so neither a file nor the matches are held in memory as a whole.
+     * <p/>
+     * Matches within a file are visited in the order of their lines.  When a pool is given, the files are searched in parallel on it and
+     * matches from different files are visited in no particular order, but the visitor is never invoked by more than one thread at a
+     * time.
+     *
+     * @param charset The character set to decode the files' bytes with.
+     * @param pattern The pattern to search for.
+     * @param path    The file or directory to search in.  Symbolic links in the directory tree are not followed.
+     * @param group   The group number in the pattern to report as a match's {@link GrepMatch#getMatch()}; or 0 for the whole match.
+     * @param limit   The maximum amount of matches to visit.  The search ends once it is reached.
+     * @param pool    The pool to search the files on in parallel, or {@code null} to search them one by one on the calling thread.
+     * @param visitor The visitor to hand each match to.  The search ends when it returns {@link Visit#STOP}.
+     *
+     * @return <code>true</code> if the search ended early because the visitor stopped it or the limit was reached, <code>false</code> if
+     * all files were searched.
+     *
+     * @throws IOException The file, or a file in the directory could not be read.  The search ends at the first such failure.  Likewise, if
+     *                     the visitor throws, the search ends and the visitor's exception is rethrown.
+     */
+    public static boolean grep(final Charset charset, final Pattern pattern, final Path path, final int group, final int limit,
+                               @Nullable final ForkJoinPool pool, final Visitor<GrepMatch> visitor)
+            throws IOException {
+
+        checkArgument( limit > 0, "The limit must be positive: %s", limit );
+
+        Grep grep = new Grep( charset, pattern, group, limit, visitor );
+        if (pool == null)
+            grep.searchTree( path, null );
+        else
+            pool.invoke( grep.new TreeSearch( path ) );
+
+        return grep.finish();
+    }
+
+    /**
+     * A line that matched the pattern of a {@link #grep(Charset, Pattern, Path, int, int, ForkJoinPool, Visitor)}.
+     */
+    public static final class GrepMatch {
+
+        private final Path   file;
+        private final long   lineNumber;
+        private final String line;
+        private final String match;
+
+        GrepMatch(final Path file, final long lineNumber, final String line, final String match) {
+
+            this.file = file;
+            this.lineNumber = lineNumber;
+            this.line = line;
+            this.match = match;
+        }
+
+        /**
+         * @return The file that contains the matching line.
+         */
+        public Path getFile() {
+
+            return file;
+        }
+
+        /**
+         * @return The number of the matching line in its file, starting at 1.
+         */
+        public long getLineNumber() {
+
+            return lineNumber;
+        }
+
+        /**
+         * @return The matching line, without its line terminator.
+         */
+        public String getLine() {
+
+            return line;
+        }
+
+        /**
+         * @return The requested group of the pattern's match in the line.
+         */
+        @Nullable
+        public String getMatch() {
+
+            return match;
+        }
+
+        @Override
+        public String toString() {
+
+            return String.format( "%s:%d: %s", file, lineNumber, line );
+        }
+    }
+
+
+    /**
+     * The state of a single search: its matches so far, whether it has ended and its first failure, either to read a file or of the
+     * visitor.
+     */
+    private static final class Grep {
+
+        private static final int MAX_PENDING_SEARCHES = 64;
+
+        private final    Charset                      charset;
+        private final    Pattern                      pattern;
+        private final    int                          group;
+        private final    int                          limit;
+        private final    Visitor<GrepMatch>           visitor;
+        private final    AtomicReference<Throwable>   failure = new AtomicReference<Throwable>();
+        private volatile boolean                      stopped;
+        private          int                          matches;
+
+        Grep(final Charset charset, final Pattern pattern, final int group, final int limit, final Visitor<GrepMatch> visitor) {
+
+            this.charset = charset;
+            this.pattern = pattern;
+            this.group = group;
+            this.limit = limit;
+            this.visitor = visitor;
+        }
+
+        /**
+         * Walk the tree at the given path and search each of its files, either right away or, when tasks are given, by forking a task for
+         * it on the current pool.  At most {@link #MAX_PENDING_SEARCHES} forked tasks are kept: beyond that, the oldest is joined before
+         * the next file is forked, so that the pending tasks don't grow with the size of the tree.
+         */
+        void searchTree(final Path path, @Nullable final Deque<ForkJoinTask<?>> tasks) {
+
+            try {
+                Files.walkFileTree( path, new SimpleFileVisitor<Path>() {
+                    @Override
+                    public FileVisitResult visitFile(final Path file, final BasicFileAttributes attributes) {
+
+                        if (stopped)
+                            return FileVisitResult.TERMINATE;
+
+                        if (attributes.isRegularFile()) {
+                            if (tasks == null)
+                                searchFile( file );
+                            else {
+                                if (tasks.size() >= MAX_PENDING_SEARCHES)
+                                    tasks.remove().join();
+                                tasks.add( new FileSearch( file ).fork() );
+                            }
+                        }
+
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFileFailed(final Path file, final IOException e) {
+
+                        fail( e );
+                        return FileVisitResult.TERMINATE;
+                    }
+                } );
+            }
+            catch (final IOException e) {
+                fail( e );
+            }
+        }
+
+        void searchFile(final Path file) {
+
+            try {
+                BufferedReader reader = new BufferedReader( new InputStreamReader( Files.newInputStream( file ), charset ) );
+                try {
+                    Matcher matcher = pattern.matcher( "" );
+                    long lineNumber = 0;
+                    for (String line; !stopped && (line = reader.readLine()) != null; ) {
+                        ++lineNumber;
+                        if (matcher.reset( line ).find())
+                            found( new GrepMatch( file, lineNumber, line, matcher.group( group ) ) );
+                    }
+                }
+                finally {
+                    reader.close();
+                }
+            }
+            catch (final IOException e) {
+                fail( e );
+            }
+        }
+
+        private synchronized void found(final GrepMatch match) {
+
+            if (stopped)
+                return;
+
+            try {
+                if (visitor.visit( match ) == Visit.STOP || ++matches >= limit)
+                    stopped = true;
+            }
+            catch (final RuntimeException | Error e) {
+                // Wind the other searches down as for a stop, the failure is rethrown when the search finishes.
+                fail( e );
+            }
+        }
+
+        private void fail(final Throwable e) {
+
+            failure.compareAndSet( null, e );
+            stopped = true;
+        }
+
+        /**
+         * @return <code>true</code> if the search ended early.
+         *
+         * @throws IOException If a file could not be read.
+         */
+        boolean finish()
+                throws IOException {
+
+            Throwable failure = this.failure.get();
+            if (failure != null) {
+                Throwables.propagateIfInstanceOf( failure, IOException.class );
+                throw Throwables.propagate( failure );
+            }
+
+            return stopped;
+        }
+
+        private final class TreeSearch extends RecursiveAction {
+
+            private static final long serialVersionUID = 1L;
+
+            private final Path path;
+
+            TreeSearch(final Path path) {
+
+                this.path = path;
+            }
+
+            @Override
+            protected void compute() {
+
+                Deque<ForkJoinTask<?>> tasks = Queues.newArrayDeque();
+                searchTree( path, tasks );
+
+                for (final ForkJoinTask<?> task : tasks)
+                    task.join();
+            }
+        }
+
+
+        private final class FileSearch extends RecursiveAction {
+
+            private static final long serialVersionUID = 1L;
+
+            private final Path file;
+
+            FileSearch(final Path file) {
+
+                this.file = file;
+            }
+
+            @Override
+            protected void compute() {
+
+                if (!stopped)
+                    searchFile( file );
+            }
+        }
+    }
+
+
+    /**
+     * The entries of a {@link ZipFile} by their normalized name, and the contents of those that were read.
+     */
+    private static final class ZipIndex {
+
+        final Map<String, ZipEntry> entries           = Maps.newHashMap();
+        final Map<String, ZipEntry> entriesIgnoreCase = Maps.newHashMap();
+        final Cache<String, byte[]> contents          = CacheBuilder.newBuilder().softValues().build();
+
+        ZipIndex(final ZipFile zipFile) {
+
+            Enumeration<? extends ZipEntry> zipEntries = zipFile.entries();
+            while (zipEntries.hasMoreElements()) {
+                ZipEntry entry = zipEntries.nextElement();
+                String name = normalizeZipName( entry.getName() );
+                if (!entries.containsKey( name ))
+                    entries.put( name, entry );
+                if (!entriesIgnoreCase.containsKey( name.toLowerCase( Locale.ROOT ) ))
+                    entriesIgnoreCase.put( name.toLowerCase( Locale.ROOT ), entry );
+            }
+        }
+    }
 }
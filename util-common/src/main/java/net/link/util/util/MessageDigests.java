@@ -1,10 +1,27 @@
 package net.link.util.util;
 
+import com.google.common.base.Throwables;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.io.ByteSource;
+import com.google.common.util.concurrent.Uninterruptibles;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import net.link.util.logging.Logger;
+import org.jetbrains.annotations.Nullable;
 
 
 /**
@@ -22,23 +39,77 @@ public enum MessageDigests {
 
     static final Logger logger = Logger.get( MessageDigests.class );
 
-    private final String jcaName;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Each thread's buffer for reading channels, allocated once since direct buffers are expensive to allocate and release.
+     */
+    private static final ThreadLocal<ByteBuffer> directBuffer = new ThreadLocal<ByteBuffer>() {
+        @Override
+        protected ByteBuffer initialValue() {
+
+            return ByteBuffer.allocateDirect( BUFFER_SIZE );
+        }
+    };
+
+    private final String                    jcaName;
+    private final ThreadLocal<MessageDigest> threadDigest = new ThreadLocal<MessageDigest>();
+    @Nullable
+    private volatile MessageDigest prototype;
 
     MessageDigests(final String jcaName) {
 
         this.jcaName = jcaName;
     }
 
+    /**
+     * @return A new digest for this algorithm.  The provider is looked up only once; later digests are cloned from the first one where
+     * the provider supports it.
+     */
     public MessageDigest get() {
 
+        MessageDigest prototype = this.prototype;
+        if (prototype == null)
+            try {
+                this.prototype = prototype = MessageDigest.getInstance( getJCAName() );
+            }
+            catch (final NoSuchAlgorithmException e) {
+                throw logger.bug( e );
+            }
+
         try {
-            return MessageDigest.getInstance( getJCAName() );
+            return (MessageDigest) prototype.clone();
         }
-        catch (final NoSuchAlgorithmException e) {
-            throw logger.bug( e );
+        catch (final CloneNotSupportedException ignored) {
+            try {
+                return MessageDigest.getInstance( getJCAName(), prototype.getProvider() );
+            }
+            catch (final NoSuchAlgorithmException e) {
+                throw logger.bug( e );
+            }
         }
     }
 
+    /**
+     * @return The calling thread's digest for this algorithm, which it holds until it is {@link #release(MessageDigest)}d.  A thread that
+     * already holds its digest gets a new one.
+     */
+    private MessageDigest acquire() {
+
+        MessageDigest digest = threadDigest.get();
+        if (digest == null)
+            return get();
+
+        threadDigest.set( null );
+        return digest;
+    }
+
+    private void release(final MessageDigest digest) {
+
+        digest.reset();
+        threadDigest.set( digest );
+    }
+
     public String getJCAName() {
 
         return jcaName;
@@ -46,16 +117,303 @@ public enum MessageDigests {
 
     public byte[] of(final byte[] bytes) {
 
-        return get().digest( bytes );
+        MessageDigest digest = acquire();
+        try {
+            return digest.digest( bytes );
+        }
+        finally {
+            release( digest );
+        }
     }
 
     public byte[] of(final ByteSource byteSource) {
 
         try {
-            return get().digest( byteSource.read() );
+            InputStream stream = byteSource.openStream();
+            try {
+                return of( stream );
+            }
+            finally {
+                stream.close();
+            }
         }
         catch (final IOException e) {
             throw logger.bug( e );
         }
     }
+
+    /**
+     * Digest the remaining bytes of a stream, reading them in blocks so that the whole stream is never held in memory.  The stream is not
+     * closed.
+     *
+     * @param stream The stream whose bytes to digest.
+     *
+     * @return The digest of the bytes read from the stream.
+     *
+     * @throws IOException If the stream could not be read.
+     */
+    public byte[] of(final InputStream stream)
+            throws IOException {
+
+        MessageDigest digest = acquire();
+        try {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            for (int read; (read = stream.read( buffer )) != -1; )
+                digest.update( buffer, 0, read );
+
+            return digest.digest();
+        }
+        finally {
+            release( digest );
+        }
+    }
+
+    /**
+     * Digest the remaining bytes of a channel, reading them in blocks through a direct buffer so that the whole channel is never held in
+     * memory.  The channel is not closed.
+     *
+     * @param channel The channel whose bytes to digest.
+     *
+     * @return The digest of the bytes read from the channel.
+     *
+     * @throws IOException If the channel could not be read.
+     */
+    public byte[] of(final ReadableByteChannel channel)
+            throws IOException {
+
+        MessageDigest digest = acquire();
+        ByteBuffer buffer = directBuffer.get();
+        try {
+            while (channel.read( buffer ) != -1) {
+                buffer.flip();
+                digest.update( buffer );
+                buffer.clear();
+            }
+
+            return digest.digest();
+        }
+        finally {
+            buffer.clear();
+            release( digest );
+        }
+    }
+
+    /**
+     * Digest the contents of a file, reading them in blocks through a direct buffer so that the whole file is never held in memory.
+     * <p/>
+     * The file is read rather than memory-mapped: a mapping is only released when it is garbage collected, which would leave large
+     * files mapped long after their digest was computed.
+     *
+     * @param path The file whose contents to digest.
+     *
+     * @return The digest of the file's contents.
+     *
+     * @throws IOException If the file could not be read.
+     */
+    public byte[] of(final Path path)
+            throws IOException {
+
+        FileChannel channel = FileChannel.open( path, StandardOpenOption.READ );
+        try {
+            return of( channel );
+        }
+        finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * @see #ofAll(Set, byte[], ExecutorService)
+     */
+    public static Map<MessageDigests, byte[]> ofAll(final Set<MessageDigests> algorithms, final byte[] bytes) {
+
+        return ofAll( algorithms, bytes, null );
+    }
+
+    /**
+     * Digest the same bytes with several algorithms.
+     *
+     * @param algorithms The algorithms to digest the bytes with.
+     * @param bytes      The bytes to digest.
+     * @param executor   An executor to run each algorithm on, or {@code null} to run them all on the calling thread.
+     *
+     * @return The digest of the bytes by each of the algorithms.
+     */
+    public static Map<MessageDigests, byte[]> ofAll(final Set<MessageDigests> algorithms, final byte[] bytes,
+                                                    @Nullable final ExecutorService executor) {
+
+        Map<MessageDigests, MessageDigest> digests = acquireAll( algorithms );
+        try {
+            update( digests.values(), bytes, bytes.length, executor );
+
+            return digestAll( digests );
+        }
+        finally {
+            releaseAll( digests );
+        }
+    }
+
+    /**
+     * Digest the remaining bytes of a stream with several algorithms, reading the stream only once and in blocks so that the whole stream
+     * is never held in memory.  The stream is not closed.
+     * <p/>
+     * When an executor is given, each block is digested by each algorithm on the executor while the next block is read.  An algorithm that
+     * the executor rejects digests the block on the calling thread instead.
+     *
+     * @param algorithms The algorithms to digest the bytes with.
+     * @param stream     The stream whose bytes to digest.
+     * @param executor   An executor to run each algorithm on, or {@code null} to run them all on the calling thread.
+     *
+     * @return The digest of the bytes read from the stream by each of the algorithms.
+     *
+     * @throws IOException If the stream could not be read.
+     */
+    public static Map<MessageDigests, byte[]> ofAll(final Set<MessageDigests> algorithms, final InputStream stream,
+                                                    @Nullable final ExecutorService executor)
+            throws IOException {
+
+        Map<MessageDigests, MessageDigest> digests = acquireAll( algorithms );
+        try {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            if (executor == null || digests.size() < 2)
+                for (int read; (read = stream.read( buffer )) != -1; )
+                    update( digests.values(), buffer, read, null );
+
+            else {
+                byte[] nextBuffer = new byte[BUFFER_SIZE];
+                for (int read = stream.read( buffer ), nextRead; read != -1; read = nextRead) {
+                    List<Future<?>> updates = submitUpdates( digests.values(), buffer, read, executor );
+                    try {
+                        nextRead = stream.read( nextBuffer );
+                    }
+                    finally {
+                        await( updates );
+                    }
+
+                    byte[] readBuffer = nextBuffer;
+                    nextBuffer = buffer;
+                    buffer = readBuffer;
+                }
+            }
+
+            return digestAll( digests );
+        }
+        finally {
+            releaseAll( digests );
+        }
+    }
+
+    /**
+     * Digest the contents of a file with several algorithms, reading the file only once.
+     *
+     * @param algorithms The algorithms to digest the file with.
+     * @param path       The file whose contents to digest.
+     * @param executor   An executor to run each algorithm on, or {@code null} to run them all on the calling thread.
+     *
+     * @return The digest of the file's contents by each of the algorithms.
+     *
+     * @throws IOException If the file could not be read.
+     * @see #ofAll(Set, InputStream, ExecutorService)
+     */
+    public static Map<MessageDigests, byte[]> ofAll(final Set<MessageDigests> algorithms, final Path path,
+                                                    @Nullable final ExecutorService executor)
+            throws IOException {
+
+        InputStream stream = Files.newInputStream( path );
+        try {
+            return ofAll( algorithms, stream, executor );
+        }
+        finally {
+            stream.close();
+        }
+    }
+
+    private static Map<MessageDigests, MessageDigest> acquireAll(final Set<MessageDigests> algorithms) {
+
+        Map<MessageDigests, MessageDigest> digests = Maps.newEnumMap( MessageDigests.class );
+        for (final MessageDigests algorithm : algorithms)
+            digests.put( algorithm, algorithm.acquire() );
+
+        return digests;
+    }
+
+    private static void releaseAll(final Map<MessageDigests, MessageDigest> digests) {
+
+        for (final Map.Entry<MessageDigests, MessageDigest> digest : digests.entrySet())
+            digest.getKey().release( digest.getValue() );
+    }
+
+    private static Map<MessageDigests, byte[]> digestAll(final Map<MessageDigests, MessageDigest> digests) {
+
+        Map<MessageDigests, byte[]> results = Maps.newEnumMap( MessageDigests.class );
+        for (final Map.Entry<MessageDigests, MessageDigest> digest : digests.entrySet())
+            results.put( digest.getKey(), digest.getValue().digest() );
+
+        return Maps.immutableEnumMap( results );
+    }
+
+    private static void update(final Collection<MessageDigest> digests, final byte[] buffer, final int length,
+                               @Nullable final ExecutorService executor) {
+
+        if (executor == null || digests.size() < 2)
+            for (final MessageDigest digest : digests)
+                digest.update( buffer, 0, length );
+
+        else
+            await( submitUpdates( digests, buffer, length, executor ) );
+    }
+
+    private static List<Future<?>> submitUpdates(final Collection<MessageDigest> digests, final byte[] buffer, final int length,
+                                                 final ExecutorService executor) {
+
+        List<Future<?>> updates = Lists.newArrayListWithCapacity( digests.size() );
+        try {
+            for (final MessageDigest digest : digests)
+                try {
+                    updates.add( executor.submit( new Runnable() {
+                        @Override
+                        public void run() {
+
+                            digest.update( buffer, 0, length );
+                        }
+                    } ) );
+                }
+                catch (final RejectedExecutionException ignored) {
+                    // The executor is saturated or shut down: update this digest on the calling thread instead.
+                    digest.update( buffer, 0, length );
+                }
+        }
+        catch (final RuntimeException | Error e) {
+            // The caller releases the digests and reuses the buffer after this: the updates that were submitted must be done by then.
+            try {
+                await( updates );
+            }
+            catch (final RuntimeException | Error suppressed) {
+                e.addSuppressed( suppressed );
+            }
+
+            throw e;
+        }
+
+        return updates;
+    }
+
+    /**
+     * Wait for all updates to complete, even when interrupted, so that no update is still using its digest or buffer afterwards.
+     */
+    private static void await(final List<Future<?>> updates) {
+
+        Throwable failure = null;
+        for (final Future<?> update : updates)
+            try {
+                Uninterruptibles.getUninterruptibly( update );
+            }
+            catch (final ExecutionException e) {
+                if (failure == null)
+                    failure = e.getCause();
+            }
+
+        if (failure != null)
+            throw Throwables.propagate( failure );
+    }
 }
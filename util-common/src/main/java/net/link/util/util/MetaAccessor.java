@@ -0,0 +1,362 @@
+package net.link.util.util;
+
+import com.google.common.base.Objects;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import java.lang.invoke.MethodHandle;
+import java.util.List;
+import java.util.Map;
+import net.link.util.logging.Logger;
+import net.link.util.util.MetaPlan.MetaField;
+import net.link.util.util.ObjectMeta.For;
+import net.sf.cglib.core.*;
+import org.jetbrains.annotations.Nullable;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.Type;
+
+
+/**
+ * A generated implementation of {@link ObjectUtils#hashCode(Object)}, {@link ObjectUtils#equals(Object, Object)} and {@link
+ * ObjectUtils#toString(Object)} for a single type that has opted in using {@link GeneratedMeta}.
+ * <p/>
+ * Implementations are generated from the type's {@link MetaPlan}: each field is read through its own {@code static final} exact
+ * {@link MethodHandle} so the JIT can inline the access, and primitive values are hashed, compared and appended without boxing.  Cycle
+ * detection remains the responsibility of {@link ObjectUtils}.
+ */
+public abstract class MetaAccessor {
+
+    static final Logger logger = Logger.get( MetaAccessor.class );
+
+    private static final ThreadLocal<List<MethodHandle>> pendingGetters = new ThreadLocal<List<MethodHandle>>();
+
+    protected MetaAccessor() {
+
+    }
+
+    /**
+     * @param o The object to hash.
+     *
+     * @return The same hashCode as the reflective {@link ObjectUtils#hashCode(Object)} would yield for the object.
+     */
+    public abstract int metaHashCode(Object o);
+
+    /**
+     * @param superObject The object of this accessor's type.
+     * @param subObject   An object of the same type or a subtype of it.
+     *
+     * @return {@code true} if all of the {@link For#equals} fields of both objects have equal values.
+     */
+    public abstract boolean metaEquals(Object superObject, Object subObject);
+
+    /**
+     * Append the {@link For#toString} fields of the given object to a description.
+     *
+     * @param o        The object to describe.
+     * @param toString The description to append the fields to.
+     */
+    public abstract void metaToString(Object o, StringBuilder toString);
+
+    /**
+     * Used by generated accessors to obtain the field accessors they are generated for while they are being initialized.
+     */
+    protected static MethodHandle pendingGetter(final int index) {
+
+        return pendingGetters.get().get( index );
+    }
+
+    protected static int valueHashCode(@Nullable final Object value) {
+
+        return ObjectUtils.valueHashCode( value );
+    }
+
+    protected static boolean valueEquals(@Nullable final Object superValue, @Nullable final Object subValue) {
+
+        return Objects.equal( superValue, subValue );
+    }
+
+    protected static String describe(@Nullable final Object value) {
+
+        return ObjectUtils.describe( value );
+    }
+
+    /**
+     * @param type A type that has opted in using {@link GeneratedMeta}.
+     *
+     * @return {@code true} if the {@link ObjectUtils} meta utilities use a generated accessor for the type, {@code false} if they use
+     * reflection because it hasn't opted in or because its accessor could not be generated.
+     */
+    public static boolean isGenerated(final Class<?> type) {
+
+        return MetaPlan.of( type ).getAccessor() != null;
+    }
+
+    /**
+     * @return An accessor for the given type's plan or {@code null} if one could not be generated.
+     */
+    @Nullable
+    static MetaAccessor generate(final Class<?> type, final MetaPlan plan) {
+
+        try {
+            List<MethodHandle> getters = Lists.newArrayList();
+            Generator generator = new Generator( type, plan );
+            for (final MetaField field : generator.getters)
+                getters.add( field.getExactGetter() );
+
+            pendingGetters.set( getters );
+            try {
+                return generator.create();
+            }
+            finally {
+                pendingGetters.remove();
+            }
+        }
+        catch (final Throwable t) {
+            logger.wrn( t, "Couldn't generate meta accessor for: %s, falling back to reflection.", type );
+            return null;
+        }
+    }
+
+    private static class Generator extends AbstractClassGenerator {
+
+        private static final Source SOURCE = new Source( MetaAccessor.class.getName() );
+
+        private static final Type META_ACCESSOR  = Type.getType( MetaAccessor.class );
+        private static final Type METHOD_HANDLE  = Type.getType( MethodHandle.class );
+        private static final Type STRING_BUILDER = Type.getType( StringBuilder.class );
+
+        private static final Signature HASH_CODE       = new Signature( "metaHashCode", Type.INT_TYPE, new Type[] { Constants.TYPE_OBJECT } );
+        private static final Signature EQUALS          = new Signature( "metaEquals", Type.BOOLEAN_TYPE,
+                new Type[] { Constants.TYPE_OBJECT, Constants.TYPE_OBJECT } );
+        private static final Signature TO_STRING       = new Signature( "metaToString", Type.VOID_TYPE,
+                new Type[] { Constants.TYPE_OBJECT, STRING_BUILDER } );
+        private static final Signature PENDING_GETTER  = new Signature( "pendingGetter", METHOD_HANDLE, new Type[] { Type.INT_TYPE } );
+        private static final Signature VALUE_HASH_CODE = new Signature( "valueHashCode", Type.INT_TYPE, new Type[] { Constants.TYPE_OBJECT } );
+        private static final Signature VALUE_EQUALS    = new Signature( "valueEquals", Type.BOOLEAN_TYPE,
+                new Type[] { Constants.TYPE_OBJECT, Constants.TYPE_OBJECT } );
+        private static final Signature DESCRIBE        = new Signature( "describe", Constants.TYPE_STRING, new Type[] { Constants.TYPE_OBJECT } );
+        private static final Signature FLOAT_TO_BITS   = new Signature( "floatToIntBits", Type.INT_TYPE, new Type[] { Type.FLOAT_TYPE } );
+        private static final Signature DOUBLE_TO_BITS  = new Signature( "doubleToLongBits", Type.LONG_TYPE, new Type[] { Type.DOUBLE_TYPE } );
+
+        private final Class<?>                type;
+        private final MetaPlan                plan;
+        private final List<MetaField>         getters       = Lists.newArrayList();
+        private final Map<MetaField, Integer> getterIndexes = Maps.newHashMap();
+
+        Generator(final Class<?> type, final MetaPlan plan) {
+
+            super( SOURCE );
+            setNamePrefix( type.getName() );
+            setUseCache( false );
+
+            this.type = type;
+            this.plan = plan;
+
+            for (final For meta : ImmutableList.of( For.hashCode, For.equals, For.toString ))
+                for (final MetaField field : plan.fields( meta ))
+                    if (!getterIndexes.containsKey( field )) {
+                        getterIndexes.put( field, getters.size() );
+                        getters.add( field );
+                    }
+        }
+
+        MetaAccessor create() {
+
+            return (MetaAccessor) super.create( type.getName() );
+        }
+
+        @Override
+        protected ClassLoader getDefaultClassLoader() {
+
+            return type.getClassLoader();
+        }
+
+        @Override
+        @SuppressWarnings("rawtypes")
+        protected Object firstInstance(final Class type) {
+
+            return ReflectUtils.newInstance( type );
+        }
+
+        @Override
+        protected Object nextInstance(final Object instance) {
+
+            return instance;
+        }
+
+        @Override
+        public void generateClass(final ClassVisitor v) {
+
+            ClassEmitter ce = new ClassEmitter( v );
+            ce.begin_class( Constants.V1_2, Constants.ACC_PUBLIC | Constants.ACC_FINAL, getClassName(), META_ACCESSOR, null,
+                    Constants.SOURCE_FILE );
+            EmitUtils.null_constructor( ce );
+
+            // static final MethodHandle getterN = pendingGetter( N );
+            CodeEmitter e = ce.begin_static();
+            for (int g = 0; g < getters.size(); ++g) {
+                ce.declare_field( Constants.PRIVATE_FINAL_STATIC, getterName( g ), METHOD_HANDLE, null, null );
+                e.push( g );
+                e.invoke_static( META_ACCESSOR, PENDING_GETTER );
+                e.putstatic( ce.getClassType(), getterName( g ), METHOD_HANDLE );
+            }
+            e.return_value();
+            e.end_method();
+
+            generateHashCode( ce );
+            generateEquals( ce );
+            generateToString( ce );
+
+            ce.end_class();
+        }
+
+        private void generateHashCode(final ClassEmitter ce) {
+
+            CodeEmitter e = ce.begin_method( Constants.ACC_PUBLIC, HASH_CODE, null, null );
+            e.push( 0 );
+            for (final MetaField field : plan.fields( For.hashCode )) {
+                // hashCode = HASHCODE_PRIME * hashCode + valueHashCode
+                e.push( ObjectUtils.HASHCODE_PRIME );
+                e.math( CodeEmitter.MUL, Type.INT_TYPE );
+                Type valueType = loadValue( ce, e, field, 0 );
+                if (Type.BOOLEAN_TYPE.equals( valueType )) {
+                    Label isTrue = e.make_label(), end = e.make_label();
+                    e.if_jump( CodeEmitter.NE, isTrue );
+                    e.push( Boolean.FALSE.hashCode() );
+                    e.goTo( end );
+                    e.mark( isTrue );
+                    e.push( Boolean.TRUE.hashCode() );
+                    e.mark( end );
+                } else if (Type.FLOAT_TYPE.equals( valueType ))
+                    e.invoke_static( Constants.TYPE_FLOAT, FLOAT_TO_BITS );
+                else if (Type.DOUBLE_TYPE.equals( valueType )) {
+                    e.invoke_static( Constants.TYPE_DOUBLE, DOUBLE_TO_BITS );
+                    hashLong( e );
+                } else if (Type.LONG_TYPE.equals( valueType ))
+                    hashLong( e );
+                else if (!isPrimitive( valueType ))
+                    e.invoke_static( META_ACCESSOR, VALUE_HASH_CODE );
+                // int, short, byte and char values are their own hashCode.
+                e.math( CodeEmitter.ADD, Type.INT_TYPE );
+            }
+            e.return_value();
+            e.end_method();
+        }
+
+        private void generateEquals(final ClassEmitter ce) {
+
+            CodeEmitter e = ce.begin_method( Constants.ACC_PUBLIC, EQUALS, null, null );
+            Label notEqual = e.make_label();
+            for (final MetaField field : plan.fields( For.equals )) {
+                // Compare the way the boxed values' equals would.
+                Type valueType = loadComparable( ce, e, field, 0 );
+                loadComparable( ce, e, field, 1 );
+                if (Type.LONG_TYPE.equals( valueType ))
+                    e.if_cmp( Type.LONG_TYPE, CodeEmitter.NE, notEqual );
+                else if (isPrimitive( valueType ))
+                    e.if_icmp( CodeEmitter.NE, notEqual );
+                else {
+                    e.invoke_static( META_ACCESSOR, VALUE_EQUALS );
+                    e.if_jump( CodeEmitter.EQ, notEqual );
+                }
+            }
+            e.push( true );
+            e.return_value();
+            e.mark( notEqual );
+            e.push( false );
+            e.return_value();
+            e.end_method();
+        }
+
+        private void generateToString(final ClassEmitter ce) {
+
+            CodeEmitter e = ce.begin_method( Constants.ACC_PUBLIC, TO_STRING, null, null );
+            boolean first = true;
+            for (final MetaField field : plan.fields( For.toString )) {
+                // toString.append( ", " ).append( name ).append( '=' ).append( value );
+                e.load_arg( 1 );
+                e.push( first? ": ": ", " );
+                e.invoke_virtual( STRING_BUILDER, append( Constants.TYPE_STRING ) );
+                e.push( field.getName() );
+                e.invoke_virtual( STRING_BUILDER, append( Constants.TYPE_STRING ) );
+                e.push( '=' );
+                e.invoke_virtual( STRING_BUILDER, append( Type.CHAR_TYPE ) );
+                Type valueType = loadValue( ce, e, field, 0 );
+                if (Type.BYTE_TYPE.equals( valueType ) || Type.SHORT_TYPE.equals( valueType ))
+                    valueType = Type.INT_TYPE;
+                else if (!isPrimitive( valueType )) {
+                    e.invoke_static( META_ACCESSOR, DESCRIBE );
+                    valueType = Constants.TYPE_STRING;
+                }
+                e.invoke_virtual( STRING_BUILDER, append( valueType ) );
+                e.pop();
+                first = false;
+            }
+            e.return_value();
+            e.end_method();
+        }
+
+        /**
+         * Push the value of the field in the given argument onto the stack.
+         *
+         * @return The type of the value that was pushed.
+         */
+        private Type loadValue(final ClassEmitter ce, final CodeEmitter e, final MetaField field, final int arg) {
+
+            Type valueType = Type.getType( field.getValueType() );
+            e.getstatic( ce.getClassType(), getterName( getterIndexes.get( field ) ), METHOD_HANDLE );
+            e.load_arg( arg );
+            e.invoke_virtual( METHOD_HANDLE, new Signature( "invokeExact", valueType, new Type[] { Constants.TYPE_OBJECT } ) );
+
+            return valueType;
+        }
+
+        /**
+         * Push the value of the field in the given argument onto the stack, converting floating point values into their bits.
+         *
+         * @return The type of the value that was pushed.
+         */
+        private Type loadComparable(final ClassEmitter ce, final CodeEmitter e, final MetaField field, final int arg) {
+
+            Type valueType = loadValue( ce, e, field, arg );
+            if (Type.FLOAT_TYPE.equals( valueType )) {
+                e.invoke_static( Constants.TYPE_FLOAT, FLOAT_TO_BITS );
+                return Type.INT_TYPE;
+            }
+            if (Type.DOUBLE_TYPE.equals( valueType )) {
+                e.invoke_static( Constants.TYPE_DOUBLE, DOUBLE_TO_BITS );
+                return Type.LONG_TYPE;
+            }
+
+            return valueType;
+        }
+
+        /**
+         * (int) (value ^ value >>> 32)
+         */
+        private static void hashLong(final CodeEmitter e) {
+
+            e.dup2();
+            e.push( 32 );
+            e.math( CodeEmitter.USHR, Type.LONG_TYPE );
+            e.math( CodeEmitter.XOR, Type.LONG_TYPE );
+            e.cast_numeric( Type.LONG_TYPE, Type.INT_TYPE );
+        }
+
+        private static boolean isPrimitive(final Type type) {
+
+            return type.getSort() != Type.OBJECT && type.getSort() != Type.ARRAY;
+        }
+
+        private static Signature append(final Type type) {
+
+            return new Signature( "append", STRING_BUILDER, new Type[] { type } );
+        }
+
+        private static String getterName(final int index) {
+
+            return "getter" + index;
+        }
+    }
+}
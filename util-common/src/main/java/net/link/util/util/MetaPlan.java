@@ -0,0 +1,199 @@
+package net.link.util.util;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import net.link.util.logging.Logger;
+import net.link.util.util.ObjectMeta.For;
+import net.link.util.util.TypeUtils.LastResult;
+import org.jetbrains.annotations.Nullable;
+
+
+/**
+ * The fields of a type that take part in each of the {@link ObjectMeta} utilities of {@link ObjectUtils}, resolved once per type.
+ * <p/>
+ * A plan is immutable and holds an opened accessor for each of its fields so that the hierarchy, its {@link ObjectMeta} annotations and the
+ * field access checks need not be revisited each time an object of the type is hashed, compared or described.  Plans are cached for as
+ * long as their type is loaded.
+ */
+final class MetaPlan {
+
+    static final Logger logger = Logger.get( MetaPlan.class );
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType( Object.class, Object.class );
+
+    private static final ClassValue<MetaPlan> plans = new ClassValue<MetaPlan>() {
+        @Override
+        protected MetaPlan computeValue(final Class<?> type) {
+
+            return new MetaPlan( type );
+        }
+    };
+
+    private final Map<For, ImmutableList<MetaField>> fields = Maps.newEnumMap( For.class );
+    @Nullable
+    private final MetaAccessor accessor;
+
+    private MetaPlan(final Class<?> type) {
+
+        final Map<Field, MetaField> metaFields = Maps.newHashMap();
+        for (final For meta : For.values()) {
+            final ImmutableList.Builder<MetaField> forFields = ImmutableList.builder();
+            ObjectUtils.forEachFieldWithMeta( meta, type, new NFunctionNN<LastResult<Field, Void>, Void>() {
+                @Nullable
+                @Override
+                @SuppressWarnings("ParameterNameDiffersFromOverriddenParameter")
+                public Void apply(@Nonnull final LastResult<Field, Void> lastResult) {
+
+                    Field field = lastResult.getCurrent();
+                    MetaField metaField = metaFields.get( field );
+                    if (metaField == null)
+                        metaFields.put( field, metaField = new MetaField( field ) );
+
+                    forFields.add( metaField );
+                    return null;
+                }
+            }, null );
+
+            fields.put( meta, forFields.build() );
+        }
+
+        accessor = TypeUtils.hasAnnotation( type, GeneratedMeta.class )? MetaAccessor.generate( type, this ): null;
+    }
+
+    /**
+     * @param type The type whose plan to obtain.
+     *
+     * @return The (cached) plan for the given type.
+     */
+    static MetaPlan of(final Class<?> type) {
+
+        return plans.get( type );
+    }
+
+    /**
+     * @param meta The utility that will use the fields.
+     *
+     * @return The fields of this plan's type that should be used by the given utility, in hierarchy order, starting at the type itself.
+     */
+    ImmutableList<MetaField> fields(final For meta) {
+
+        return fields.get( meta );
+    }
+
+    /**
+     * @return The generated accessor for this plan's type, or {@code null} if the type has not opted into one using {@link GeneratedMeta}
+     * or if it could not be generated.
+     */
+    @Nullable
+    MetaAccessor getAccessor() {
+
+        return accessor;
+    }
+
+    /**
+     * A field that takes part in a {@link MetaPlan}, along with its display name and an accessor for reading its value.
+     */
+    static final class MetaField {
+
+        private final Field field;
+        private final String name;
+        @Nullable
+        private final MethodHandle getter;
+        @Nullable
+        private final MethodHandle exactGetter;
+
+        MetaField(final Field field) {
+
+            this.field = field;
+
+            String name = null;
+            ObjectMeta fieldMeta = field.getAnnotation( ObjectMeta.class );
+            if (fieldMeta != null)
+                name = fieldMeta.name();
+            if (name == null || name.isEmpty())
+                name = field.getName();
+            this.name = name;
+
+            MethodHandle getter = null, exactGetter = null;
+            try {
+                field.setAccessible( true );
+                MethodHandle fieldGetter = MethodHandles.lookup().unreflectGetter( field );
+                getter = fieldGetter.asType( GETTER_TYPE );
+                exactGetter = fieldGetter.asType( MethodType.methodType( getValueType(), Object.class ) );
+            }
+            catch (final IllegalAccessException e) {
+                logger.dbg( e, "Field not accessible: %s", field );
+            }
+            catch (final RuntimeException e) {
+                logger.dbg( e, "Field not accessible: %s", field );
+            }
+            this.getter = getter;
+            this.exactGetter = exactGetter;
+        }
+
+        Field getField() {
+
+            return field;
+        }
+
+        /**
+         * @return The type of this field's value: the field's type if it is primitive, otherwise {@link Object}.
+         */
+        Class<?> getValueType() {
+
+            return field.getType().isPrimitive()? field.getType(): Object.class;
+        }
+
+        /**
+         * @return The name to use for this field in descriptions.
+         */
+        String getName() {
+
+            return name;
+        }
+
+        /**
+         * @param owner The object whose value for this field to read.
+         *
+         * @return The value of this field in the given owner.
+         *
+         * @throws IllegalAccessException If the field could not be made accessible.
+         */
+        @Nullable
+        Object get(final Object owner)
+                throws Throwable {
+
+            if (getter == null)
+                throw new IllegalAccessException( String.format( "Field not accessible: %s", field ) );
+
+            return (Object) getter.invokeExact( owner );
+        }
+
+        /**
+         * @return An accessor for this field's value that takes the owner as an {@link Object} and yields a value of the field's
+         * {@link #getValueType()}, so that primitive values are read without boxing.
+         *
+         * @throws IllegalAccessException If the field could not be made accessible.
+         */
+        MethodHandle getExactGetter()
+                throws IllegalAccessException {
+
+            if (exactGetter == null)
+                throw new IllegalAccessException( String.format( "Field not accessible: %s", field ) );
+
+            return exactGetter;
+        }
+
+        @Override
+        public String toString() {
+
+            return field.toString();
+        }
+    }
+}
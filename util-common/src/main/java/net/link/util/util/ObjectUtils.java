@@ -26,23 +26,35 @@ public abstract class ObjectUtils {
 
     static final Logger logger = Logger.get( ObjectUtils.class );
 
+    /**
+     * The system property that caps how many elements of a {@link List} field value are used in {@link #hashCode(Object)}: only its first
+     * elements are hashed.
+     * <p/>
+     * Other {@link Iterable}s, such as sets, are always hashed in full.  Equal sets can iterate their elements in different orders, so
+     * their first elements may differ and would make their hashCodes differ.
+     */
+    public static final String MAX_HASHED_ELEMENTS_PROPERTY = "net.link.util.hashCode.maxElements";
+
     private static final Pattern                             NON_PRINTABLE            = Pattern.compile( "[^\\p{Print}]" );
     private static final int                                 MAX_DECODE_LENGTH        = 100;
-    private static final Map<For, ThreadLocal<Set<Integer>>> seen                     = Maps.newEnumMap( For.class );
-    private static final int                                 HASHCODE_PRIME           = 524287;
-    private static final Class<Object>                       persistentCollectionType = TypeUtils.findClass( "org.hibernate.collection.PersistentCollection" );
-
-    static {
-        for (final For forMeta : For.values()) {
-            seen.put( forMeta, new ThreadLocal<Set<Integer>>() {
-                @Override
-                protected Set<Integer> initialValue() {
-
-                    return Sets.newHashSet();
-                }
-            } );
+    private static final int                                 DESCRIBE_MAX_ELEMENTS    = 20;
+    private static final int                                 DESCRIBE_MAX_DEPTH       = 3;
+    private static final int                                 DESCRIBE_MAX_LENGTH      = 1024;
+    private static final ThreadLocal<IdentityStack[]>        seen                     = new ThreadLocal<IdentityStack[]>() {
+        @Override
+        protected IdentityStack[] initialValue() {
+
+            IdentityStack[] stacks = new IdentityStack[For.values().length];
+            for (int s = 0; s < stacks.length; ++s)
+                stacks[s] = new IdentityStack();
+
+            return stacks;
         }
-    }
+    };
+    static final int                                         HASHCODE_PRIME           = 524287;
+    private static final int                                 MAX_HASHED_ELEMENTS      = Integer.getInteger( MAX_HASHED_ELEMENTS_PROPERTY,
+            Integer.MAX_VALUE );
+    private static final Class<Object>                       persistentCollectionType = TypeUtils.findClass( "org.hibernate.collection.PersistentCollection" );
 
     private static final Pattern PACKAGE_NODE = Pattern.compile( "([^\\.])[^\\.]+\\." );
     private static final Pattern PACKAGE      = Pattern.compile( ".*\\." );
@@ -88,89 +100,205 @@ public abstract class ObjectUtils {
      *
      * @return A description of the given object.
      */
+    public static String describe(@Nullable final Object o) {
+
+        return describe( o, new StringBuilder(), Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE ).toString();
+    }
+
+    /**
+     * Append a bounded description of the given object.  The description is the same as that of {@link #describe(Object)}, except that
+     * collections, maps and arrays are only described up to the given number of elements and levels of nesting and that the whole
+     * description is cut off at the given length.  Anything left out is indicated with {@code [...]}.
+     *
+     * @param o           The object to describe.
+     * @param description The builder to append the description to.
+     * @param maxElements The maximum amount of elements to describe of each collection, map or array.
+     * @param maxDepth    The maximum amount of nested collections, maps or arrays to describe the elements of.
+     * @param maxLength   The maximum amount of characters to append (not counting the trailing {@code [...]} indicator).
+     *
+     * @return The given description builder.
+     */
+    public static StringBuilder describe(@Nullable final Object o, final StringBuilder description, final int maxElements, final int maxDepth,
+                                         final int maxLength) {
+
+        int limit = maxLength > Integer.MAX_VALUE - description.length()? Integer.MAX_VALUE: description.length() + maxLength;
+        appendDescription( o, description, maxElements, maxDepth, limit );
+
+        if (description.length() > limit) {
+            description.setLength( limit );
+            description.append( "[...]" );
+        }
+
+        return description;
+    }
+
+    /**
+     * Describe the given object only when the result is used as a string.  Use this for arguments to log events that may not be emitted.
+     *
+     * @param o The object to describe.
+     *
+     * @return An object whose {@link Object#toString()} is a bounded description of the given object (see {@link #describe(Object,
+     * StringBuilder, int, int, int)}).
+     */
+    public static Object describeLazily(@Nullable final Object o) {
+
+        return describeLazily( o, DESCRIBE_MAX_ELEMENTS, DESCRIBE_MAX_DEPTH, DESCRIBE_MAX_LENGTH );
+    }
+
+    /**
+     * Describe the given object only when the result is used as a string.  Use this for arguments to log events that may not be emitted.
+     *
+     * @param o           The object to describe.
+     * @param maxElements The maximum amount of elements to describe of each collection, map or array.
+     * @param maxDepth    The maximum amount of nested collections, maps or arrays to describe the elements of.
+     * @param maxLength   The maximum length of the description.
+     *
+     * @return An object whose {@link Object#toString()} is a bounded description of the given object (see {@link #describe(Object,
+     * StringBuilder, int, int, int)}).
+     */
+    public static Object describeLazily(@Nullable final Object o, final int maxElements, final int maxDepth, final int maxLength) {
+
+        return new Object() {
+            @Override
+            public String toString() {
+
+                return describe( o, new StringBuilder(), maxElements, maxDepth, maxLength ).toString();
+            }
+        };
+    }
+
     @SuppressWarnings("SynchronizationOnLocalVariableOrMethodParameter")
-    public static String describe(final Object o) {
+    private static void appendDescription(@Nullable final Object o, final StringBuilder description, final int maxElements, final int depth,
+                                          final int limit) {
 
-        if (o == null)
-            return "<null>";
+        if (description.length() >= limit)
+            return;
 
-        if (Class.class.isInstance( o )) {
+        if (o == null) {
+            description.append( "<null>" );
+            return;
+        }
+
+        if (o instanceof Class) {
             Class<?> type = (Class<?>) o;
-            return String.format( "<C: %s>", PACKAGE_NODE.matcher( type.getName() ).replaceAll( "$1." ) );
+            description.append( "<C: " ).append( PACKAGE_NODE.matcher( type.getName() ).replaceAll( "$1." ) ).append( '>' );
+            return;
         }
 
-        if (byte[].class.isInstance( o )) {
+        if (o instanceof byte[]) {
             byte[] byteArray = (byte[]) o;
-            StringBuilder toString = new StringBuilder( String.format( "<b[]: %dB, ", byteArray.length ) );
+            description.append( "<b[]: " ).append( byteArray.length ).append( "B, " );
 
             // Decode some bytes.
             CharBuffer decodedBytes = Charsets.UTF_8.decode( ByteBuffer.wrap( byteArray, 0, Math.min( byteArray.length, MAX_DECODE_LENGTH ) ) );
-            String stripped = NON_PRINTABLE.matcher( decodedBytes ).replaceAll( "." );
-            toString.append( stripped );
+            description.append( NON_PRINTABLE.matcher( decodedBytes ).replaceAll( "." ) );
 
             // Append trimmed indicator if not all bytes were decoded.
             if (byteArray.length > MAX_DECODE_LENGTH)
-                toString.append( "[...]" );
+                description.append( "[...]" );
 
-            return toString.append( '>' ).toString();
+            description.append( '>' );
+            return;
         }
 
-        if (char[].class.isInstance( o )) {
+        if (o instanceof char[]) {
             char[] charArray = (char[]) o;
-            StringBuilder toString = new StringBuilder( String.format( "<c[]: #%d, ", charArray.length ) );
+            description.append( "<c[]: #" ).append( charArray.length ).append( ", " );
 
             // Decode some bytes.
-            toString.append( charArray, 0, Math.min( charArray.length, MAX_DECODE_LENGTH ) );
+            description.append( charArray, 0, Math.min( charArray.length, MAX_DECODE_LENGTH ) );
 
             // Append trimmed indicator if not all bytes were decoded.
             if (charArray.length > MAX_DECODE_LENGTH)
-                toString.append( "[...]" );
+                description.append( "[...]" );
 
-            return toString.append( '>' ).toString();
+            description.append( '>' );
+            return;
         }
 
-        if (Object[].class.isInstance( o ))
-            return String.format( "<O[]:%s>", Arrays.asList( (Object[]) o ).toString() );
+        if (o instanceof Object[]) {
+            description.append( "<O[]:[" );
+            if (depth <= 0)
+                description.append( "[...]" );
+            else {
+                int elements = 0;
+                for (final Object element : (Object[]) o) {
+                    if (elements > 0)
+                        description.append( ", " );
+                    if (elements++ >= maxElements || description.length() >= limit) {
+                        description.append( "[...]" );
+                        break;
+                    }
+
+                    appendDescription( element, description, maxElements, depth - 1, limit );
+                }
+            }
 
-        if (o instanceof String)
-            return String.format( "\"%s\"", o );
+            description.append( "]>" );
+            return;
+        }
+
+        if (o instanceof String) {
+            description.append( '"' ).append( (String) o ).append( '"' );
+            return;
+        }
 
         if (o instanceof Map) {
-            StringBuilder description = new StringBuilder().append( "<M:[" );
-            synchronized (o) {
-                for (final Map.Entry<?, ?> entry : ((Map<?, ?>) o).entrySet()) {
-                    if (description.length() > 1)
-                        description.append( "], [" );
+            description.append( "<M:[" );
+            if (depth <= 0)
+                description.append( "[...]" );
+            else
+                synchronized (o) {
+                    int elements = 0;
+                    for (final Map.Entry<?, ?> entry : ((Map<?, ?>) o).entrySet()) {
+                        if (elements > 0)
+                            description.append( "], [" );
+                        if (elements++ >= maxElements || description.length() >= limit) {
+                            description.append( "[...]" );
+                            break;
+                        }
 
-                    description.append( describe( entry.getKey() ) ).append( '=' ).append( describe( entry.getValue() ) );
+                        appendDescription( entry.getKey(), description, maxElements, depth - 1, limit );
+                        description.append( '=' );
+                        appendDescription( entry.getValue(), description, maxElements, depth - 1, limit );
+                    }
                 }
-            }
 
-            return description.append( "]>" ).toString();
+            description.append( "]>" );
+            return;
         }
 
         if (o instanceof Iterable) {
-            Iterable<?> collection = (Iterable<?>) o;
-            StringBuilder description = new StringBuilder().append( '[' );
-            synchronized (collection) {
-                for (final Object entry : collection) {
-                    if (description.length() > 1)
-                        description.append( ", " );
+            description.append( '[' );
+            if (depth <= 0)
+                description.append( "[...]" );
+            else
+                synchronized (o) {
+                    int elements = 0;
+                    for (final Object element : (Iterable<?>) o) {
+                        if (elements > 0)
+                            description.append( ", " );
+                        if (elements++ >= maxElements || description.length() >= limit) {
+                            description.append( "[...]" );
+                            break;
+                        }
 
-                    description.append( describe( entry ) );
+                        appendDescription( element, description, maxElements, depth - 1, limit );
+                    }
                 }
-            }
 
-            return description.append( ']' ).toString();
+            description.append( ']' );
+            return;
         }
 
         if (o instanceof X509Certificate) {
             X509Certificate x509Certificate = (X509Certificate) o;
-            return String.format( "<Cert: DN=%s, Issuer=%s>", x509Certificate.getSubjectX500Principal().getName(),
-                    x509Certificate.getIssuerX500Principal().getName() );
+            description.append( "<Cert: DN=" ).append( x509Certificate.getSubjectX500Principal().getName() ) //
+                    .append( ", Issuer=" ).append( x509Certificate.getIssuerX500Principal().getName() ).append( '>' );
+            return;
         }
 
-        return String.valueOf( o );
+        description.append( o );
     }
 
     /**
@@ -190,54 +318,32 @@ public abstract class ObjectUtils {
         int identityHashCode = System.identityHashCode( o );
         toString.append( '[' ).append( identityHashCode ).append( ']' );
 
-        if (!seen.get( For.toString ).get().add( identityHashCode ))
+        IdentityStack seen = ObjectUtils.seen.get()[For.toString.ordinal()];
+        if (!seen.push( o ))
             // Cyclic reference.
             return toString.append( '}' ).toString();
 
         try {
-            toString.append( forEachFieldWithMeta( For.toString, o.getClass(), new NFunctionNN<LastResult<Field, StringBuilder>, StringBuilder>() {
-                @Override
-                @SuppressWarnings("ParameterNameDiffersFromOverriddenParameter")
-                public StringBuilder apply(@Nonnull final TypeUtils.LastResult<Field, StringBuilder> lastResult) {
-
-                    Field field = lastResult.getCurrent();
-                    StringBuilder fieldsString = lastResult.getLastResult();
-                    assert fieldsString != null;
-
-                    if (!isValueAccessible( o ))
-                        return fieldsString;
-
-                    String name = null;
-                    ObjectMeta fieldMeta = field.getAnnotation( ObjectMeta.class );
-                    if (fieldMeta != null)
-                        name = fieldMeta.name();
-                    if (name == null || name.isEmpty())
-                        name = field.getName();
-
-                    if (fieldsString.length() == 0)
-                        fieldsString.append( ": " );
-                    else
-                        fieldsString.append( ", " );
+            MetaPlan plan = MetaPlan.of( o.getClass() );
+            if (plan.getAccessor() != null)
+                plan.getAccessor().metaToString( o, toString );
+            else if (isValueAccessible( o )) {
+                boolean first = true;
+                for (final MetaPlan.MetaField field : plan.fields( For.toString )) {
+                    toString.append( first? ": ": ", " ).append( field.getName() ).append( '=' );
+                    first = false;
 
                     try {
-                        field.setAccessible( true );
-                    }
-                    catch (final SecurityException ignored) {
-                    }
-
-                    try {
-                        fieldsString.append( name ).append( '=' ).append( describe( field.get( o ) ) );
+                        toString.append( describe( field.get( o ) ) );
                     }
                     catch (final Throwable t) {
                         logger.dbg( t, "Couldn't load value for field: %s, in object: 0x%x", field, System.identityHashCode( o ) );
                     }
-
-                    return fieldsString;
                 }
-            }, new StringBuilder() ) );
+            }
         }
         finally {
-            seen.get( For.toString ).get().remove( identityHashCode );
+            seen.pop();
         }
 
         return toString.append( '}' ).toString();
@@ -254,81 +360,106 @@ public abstract class ObjectUtils {
     public static int hashCode(final Object o) {
 
         int identityHashCode = System.identityHashCode( o );
-        logger.trc( "%sHashCode for: %s (%d)", StringUtils.indent( seen.get( For.hashCode ).get().size() ), //
-                o.getClass().getName(), identityHashCode );
+        IdentityStack seen = ObjectUtils.seen.get()[For.hashCode.ordinal()];
+        if (logger.isTraceEnabled())
+            logger.trc( "%sHashCode for: %s (%d)", StringUtils.indent( seen.size() ), //
+                    o.getClass().getName(), identityHashCode );
 
-        if (seen.get( For.hashCode ).get().contains( identityHashCode )) {
+        if (!seen.push( o )) {
             // Cyclic reference.
-            logger.trc( "%s- Detected cycle, returning identity.", StringUtils.indent( seen.get( For.hashCode ).get().size() + 1 ), identityHashCode );
+            if (logger.isTraceEnabled())
+                logger.trc( "%s- Detected cycle, returning identity.", StringUtils.indent( seen.size() + 1 ), identityHashCode );
             return identityHashCode;
         }
 
         try {
-            seen.get( For.hashCode ).get().add( identityHashCode );
-            return ifNotNullElse( forEachFieldWithMeta( For.hashCode, o.getClass(), new NFunctionNN<LastResult<Field, Integer>, Integer>() {
-                @Override
-                @SuppressWarnings("ParameterNameDiffersFromOverriddenParameter")
-                public Integer apply(@Nonnull final LastResult<Field, Integer> lastResult) {
-
-                    Field field = lastResult.getCurrent();
-                    Integer lastHashCode = lastResult.getLastResult();
-                    if (lastHashCode == null)
-                        lastHashCode = 0;
-
-                    // Field's value
-                    Object value = null;
-                    try {
-                        field.setAccessible( true );
-                        value = field.get( o );
-                    }
-                    catch (SecurityException ignored) {
-                    }
-                    catch (IllegalAccessException ignored) {
-                    }
 
-                    // Field's value's hashCode
-                    int hashCode = System.identityHashCode( value );
-                    if (value != null && isValueAccessible( value ))
-                        try {
-                            if (value instanceof Iterable) {
-                                // Best-effort special handling for Iterables in case they don't implement hashCode themselves.
-                                // We just use the hashCode of the sorted hashCodes of the values.
-                                ImmutableSortedSet.Builder<Integer> hashCodes = ImmutableSortedSet.naturalOrder();
-                                //noinspection SynchronizationOnLocalVariableOrMethodParameter
-                                synchronized (value) {
-                                    for (final Object o_ : (Iterable<?>) value)
-                                        hashCodes.add( ObjectUtils.hashCode( o_ ) );
-                                }
-                                hashCode = hashCodes.build().hashCode();
-                            } else
-                                hashCode = value.hashCode();
-                        }
-                        catch (final Throwable t) {
-                            logger.dbg( t, "Couldn't load hashCode for: %s, value: %s.  Falling back to identity hashCode.", field, value );
-                        }
+            MetaPlan plan = MetaPlan.of( o.getClass() );
+            List<MetaPlan.MetaField> fields = plan.fields( For.hashCode );
+            if (fields.isEmpty())
+                // This object has no meta fields fit for hashCode usage.  Fall back to the object's own hashCode implementation.
+                return o.hashCode();
+            if (plan.getAccessor() != null)
+                return plan.getAccessor().metaHashCode( o );
+
+            int hashCode = 0;
+            for (final MetaPlan.MetaField field : fields) {
+
+                // Field's value
+                Object value = null;
+                try {
+                    value = field.get( o );
+                }
+                catch (final Throwable ignored) {
+                }
 
-                    // Increment the total hashCode with this field's value's hashCode
-                    int newHashCode = HASHCODE_PRIME * lastHashCode + hashCode;
-                    logger.trc( "%s- %s=%d (hashCode -> %d)", StringUtils.indent( seen.get( For.hashCode ).get().size() ), //
-                            field.getName(), hashCode, newHashCode );
+                // Field's value's hashCode
+                int valueHashCode = valueHashCode( value );
 
-                    return newHashCode;
-                }
-            }, null ), new NNSupplier<Integer>() {
-                @Nonnull
-                @Override
-                public Integer get() {
+                // Increment the total hashCode with this field's value's hashCode
+                int newHashCode = HASHCODE_PRIME * hashCode + valueHashCode;
+                if (logger.isTraceEnabled())
+                    logger.trc( "%s- %s=%d (hashCode -> %d)", StringUtils.indent( seen.size() ), //
+                            field.getName(), valueHashCode, newHashCode );
 
-                    // This object has no meta fields fit for hashCode usage.  Fall back to the object's own hashCode implementation.
-                    return o.hashCode();
-                }
-            } );
+                hashCode = newHashCode;
+            }
+
+            return hashCode;
         }
         finally {
-            seen.get( For.hashCode ).get().remove( identityHashCode );
+            seen.pop();
         }
     }
 
+    /**
+     * @param value The value of a field selected for {@link For#hashCode}.
+     *
+     * @return The hashCode the value contributes to its owner's {@link #hashCode(Object)}.
+     */
+    static int valueHashCode(@Nullable final Object value) {
+
+        int hashCode = System.identityHashCode( value );
+        if (value != null && isValueAccessible( value ))
+            try {
+                if (value instanceof Iterable) {
+                    // Best-effort special handling for Iterables in case they don't implement hashCode themselves.
+                    // We combine the mixed hashCodes of the values commutatively so the result does not depend on their order.
+                    hashCode = 0;
+                    int elements = 0, maxElements = value instanceof List? MAX_HASHED_ELEMENTS: Integer.MAX_VALUE;
+                    //noinspection SynchronizationOnLocalVariableOrMethodParameter
+                    synchronized (value) {
+                        for (final Iterator<?> it = ((Iterable<?>) value).iterator(); it.hasNext() && elements < maxElements; ++elements) {
+                            Object element = it.next();
+                            if (element != null)
+                                hashCode += mix( hashCode( element ) );
+                        }
+                    }
+                } else
+                    hashCode = value.hashCode();
+            }
+            catch (final Throwable t) {
+                logger.dbg( t, "Couldn't load hashCode for value: %s.  Falling back to identity hashCode.", value );
+            }
+
+        return hashCode;
+    }
+
+    /**
+     * Spread the bits of a hashCode so that summing the hashCodes of several values does not easily cancel them out (the MurmurHash3
+     * finalizer).
+     */
+    private static int mix(int hashCode) {
+
+        hashCode ^= hashCode >>> 16;
+        hashCode *= 0x85ebca6b;
+        hashCode ^= hashCode >>> 13;
+        hashCode *= 0xc2b2ae35;
+        hashCode ^= hashCode >>> 16;
+
+        return hashCode;
+    }
+
     /**
      * Some type-specific checks to see whether the object can be used.
      *
@@ -371,57 +502,52 @@ public abstract class ObjectUtils {
         if (!superObject.getClass().isAssignableFrom( subObject.getClass() ))
             return false;
 
-        int identityHashCode = System.identityHashCode( superObject );
-        if (seen.get( For.equals ).get().contains( identityHashCode ))
+        IdentityStack seen = ObjectUtils.seen.get()[For.equals.ordinal()];
+        if (!seen.push( superObject ))
             // Cyclic reference.  We return true as a way of "skipping this field".
             return true;
 
         try {
-            seen.get( For.equals ).get().add( identityHashCode );
-            return ifNotNullElse( forEachFieldWithMeta( For.equals, superObject.getClass(), new NFunctionNN<LastResult<Field, Boolean>, Boolean>() {
-                @Nonnull
-                @Override
-                @SuppressWarnings("ParameterNameDiffersFromOverriddenParameter")
-                public Boolean apply(@Nonnull final LastResult<Field, Boolean> lastResult) {
-
-                    if (Boolean.FALSE.equals( lastResult.getLastResult() ))
-                        // One 'false' means equals fails.  Don't bother with other fields.
-                        return Boolean.FALSE;
-
-                    Field field = lastResult.getCurrent();
-                    try {
-                        field.setAccessible( true );
-                    }
-                    catch (final SecurityException ignored) {
-                    }
-
-                    Object superValue = null, subValue = null;
-                    try {
-                        if (isValueAccessible( superObject ))
-                            superValue = field.get( superObject );
-                    }
-                    catch (final Throwable t) {
-                        logger.dbg( t, "Couldn't load value for field: %s, in object: %s", field, superObject );
-                    }
-                    try {
-                        if (isValueAccessible( subObject ))
-                            subValue = field.get( subObject );
-                    }
-                    catch (final Throwable t) {
-                        logger.dbg( t, "Couldn't load value for field: %s, in object: %s", field, subObject );
-                    }
 
-                    return Objects.equal( superValue, subValue );
+            MetaPlan plan = MetaPlan.of( superObject.getClass() );
+            List<MetaPlan.MetaField> fields = plan.fields( For.equals );
+            if (fields.isEmpty())
+                // There are no (accessible) fields to compare.
+                return false;
+            if (plan.getAccessor() != null)
+                return plan.getAccessor().metaEquals( superObject, subObject );
+
+            for (final MetaPlan.MetaField field : fields) {
+                Object superValue = null, subValue = null;
+                try {
+                    if (isValueAccessible( superObject ))
+                        superValue = field.get( superObject );
+                }
+                catch (final Throwable t) {
+                    logger.dbg( t, "Couldn't load value for field: %s, in object: %s", field, superObject );
+                }
+                try {
+                    if (isValueAccessible( subObject ))
+                        subValue = field.get( subObject );
                 }
-            }, null ), false /* There are no (accessible) fields to compare. */ );
+                catch (final Throwable t) {
+                    logger.dbg( t, "Couldn't load value for field: %s, in object: %s", field, subObject );
+                }
+
+                if (!Objects.equal( superValue, subValue ))
+                    // One 'false' means equals fails.  Don't bother with other fields.
+                    return false;
+            }
+
+            return true;
         }
         finally {
-            seen.get( For.equals ).get().remove( identityHashCode );
+            seen.pop();
         }
     }
 
     @Nullable
-    private static <R, T> R forEachFieldWithMeta(final For meta, final Class<T> type, final NFunctionNN<LastResult<Field, R>, R> function,
+    static <R, T> R forEachFieldWithMeta(final For meta, final Class<T> type, final NFunctionNN<LastResult<Field, R>, R> function,
                                                  @Nullable final R firstResult) {
 
         return TypeUtils.forEachSuperTypeOf( type, new NFunctionNN<LastResult<Class<?>, R>, R>() {
@@ -779,4 +905,42 @@ public abstract class ObjectUtils {
             }
         } ) );
     }
+
+    /**
+     * The objects a thread is currently visiting, innermost last.  Objects are compared by identity, so unlike identity hash codes, two
+     * distinct objects are never mistaken for a cycle.  The stack is reused for the lifetime of its thread and only grows when the object
+     * graph being visited is deeper than it has been before.
+     */
+    private static final class IdentityStack {
+
+        private Object[] objects = new Object[16];
+        private int size;
+
+        /**
+         * @return {@code false} if the object is already being visited (a cycle), otherwise {@code true} after pushing it.
+         */
+        boolean push(final Object object) {
+
+            for (int o = 0; o < size; ++o)
+                //noinspection ObjectEquality
+                if (objects[o] == object)
+                    return false;
+
+            if (size == objects.length)
+                objects = Arrays.copyOf( objects, size * 2 );
+            objects[size++] = object;
+
+            return true;
+        }
+
+        void pop() {
+
+            objects[--size] = null;
+        }
+
+        int size() {
+
+            return size;
+        }
+    }
 }
@@ -4,14 +4,17 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static net.link.util.util.ObjectUtils.ifNotNullElseNullable;
 
 import com.google.common.base.Function;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
-import com.google.common.collect.Sets;
+import java.io.IOException;
 import java.net.URL;
+import java.nio.ByteBuffer;
 import java.text.MessageFormat;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
-import java.util.SortedSet;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import javax.annotation.Nullable;
 
@@ -25,6 +28,24 @@ public abstract class StringUtils {
     private static final Pattern TRAILING_SLASHES = Pattern.compile( "/+$" );
     private static final Pattern NON_FINAL_PATH   = Pattern.compile( "^.*/" );
 
+    /**
+     * Strings of spaces for the common indentation depths, indexed by their length.
+     */
+    private static final String[] SPACES = new String[65];
+
+    static {
+        for (int length = 0; length < SPACES.length; ++length)
+            SPACES[length] = repeat( ' ', length );
+    }
+
+    /**
+     * The system property that sets how many parsed sources (by key prefix) are kept for {@link #expand(String, String, Function)}.
+     */
+    public static final String EXPANSION_CACHE_SIZE_PROPERTY = "net.link.util.expand.cacheSize";
+
+    private static final Cache<Map.Entry<String, String>, ExpansionTemplate> expansionTemplates = //
+            CacheBuilder.newBuilder().maximumSize( Integer.getInteger( EXPANSION_CACHE_SIZE_PROPERTY, 1000 ) ).build();
+
     /**
      * Compares specified {@link String}'s in a constant time algorithm, preventing timing attacks
      *
@@ -35,23 +56,99 @@ public abstract class StringUtils {
      *
      * @see <a href="http://codahale.com/a-lesson-in-timing-attacks">
      */
-    public static boolean isEqualConstant(String str1, String str2) {
+    public static boolean isEqualConstant(@Nullable final String str1, @Nullable final String str2) {
 
-        if (null == str1 && null == str2)
-            return true;
+        return isEqualConstant( (CharSequence) str1, str2 );
+    }
+
+    /**
+     * Compares specified character sequences in a constant time algorithm, preventing timing attacks.  Only the length of the sequences
+     * affects the time taken.
+     *
+     * @param chars1 The characters to compare from.
+     * @param chars2 The characters to compare to.
+     *
+     * @return {@code true} if both sequences contain the exact same characters.
+     */
+    public static boolean isEqualConstant(@Nullable final CharSequence chars1, @Nullable final CharSequence chars2) {
 
-        if (null == str2 || null == str1)
+        if (chars1 == null || chars2 == null)
+            return chars1 == chars2;
+        if (chars1.length() != chars2.length())
             return false;
 
-        if (str1.length() != str2.length())
+        int result = 0;
+        for (int i = 0; i < chars1.length(); ++i)
+            result |= chars1.charAt( i ) ^ chars2.charAt( i );
+
+        return result == 0;
+    }
+
+    /**
+     * Compares specified characters in a constant time algorithm, preventing timing attacks.  Only the length of the arrays affects the
+     * time taken.
+     *
+     * @param chars1 The characters to compare from.
+     * @param chars2 The characters to compare to.
+     *
+     * @return {@code true} if both arrays contain the exact same characters.
+     */
+    public static boolean isEqualConstant(@Nullable final char[] chars1, @Nullable final char[] chars2) {
+
+        if (chars1 == null || chars2 == null)
+            return chars1 == chars2;
+        if (chars1.length != chars2.length)
             return false;
 
-        byte[] b1 = str1.getBytes();
-        byte[] b2 = str2.getBytes();
+        int result = 0;
+        for (int i = 0; i < chars1.length; ++i)
+            result |= chars1[i] ^ chars2[i];
+
+        return result == 0;
+    }
+
+    /**
+     * Compares specified bytes in a constant time algorithm, preventing timing attacks.  Only the length of the arrays affects the time
+     * taken.
+     *
+     * @param bytes1 The bytes to compare from.
+     * @param bytes2 The bytes to compare to.
+     *
+     * @return {@code true} if both arrays contain the exact same bytes.
+     */
+    public static boolean isEqualConstant(@Nullable final byte[] bytes1, @Nullable final byte[] bytes2) {
+
+        if (bytes1 == null || bytes2 == null)
+            return bytes1 == bytes2;
+        if (bytes1.length != bytes2.length)
+            return false;
 
         int result = 0;
-        for (int i = 0; i < b1.length; i++)
-            result |= b1[i] ^ b2[i];
+        for (int i = 0; i < bytes1.length; ++i)
+            result |= bytes1[i] ^ bytes2[i];
+
+        return result == 0;
+    }
+
+    /**
+     * Compares the remaining bytes of specified buffers in a constant time algorithm, preventing timing attacks.  Only the amount of
+     * remaining bytes affects the time taken.  The positions of the buffers are not changed.
+     *
+     * @param bytes1 The bytes to compare from.
+     * @param bytes2 The bytes to compare to.
+     *
+     * @return {@code true} if both buffers have the exact same bytes remaining.
+     */
+    public static boolean isEqualConstant(@Nullable final ByteBuffer bytes1, @Nullable final ByteBuffer bytes2) {
+
+        if (bytes1 == null || bytes2 == null)
+            return bytes1 == bytes2;
+        if (bytes1.remaining() != bytes2.remaining())
+            return false;
+
+        int result = 0;
+        for (int i = 0, p1 = bytes1.position(), p2 = bytes2.position(); i < bytes1.remaining(); ++i)
+            result |= bytes1.get( p1 + i ) ^ bytes2.get( p2 + i );
 
         return result == 0;
     }
@@ -189,30 +286,29 @@ public abstract class StringUtils {
      */
     public static String expand(final String source, final String keyPrefix, final Function<String, String> keyToExpansion) {
 
-        Map<Integer, Integer> indexToEnds = Maps.newTreeMap();
-        Map<Integer, String> indexToExpansions = Maps.newTreeMap();
-
-        Pattern keyPattern = Pattern.compile( String.format( "%s\\{([^\\}:]*)(?::([^\\}]*))?\\}", Pattern.quote( keyPrefix ) ) );
-        Matcher matcher = keyPattern.matcher( source );
-        while (matcher.find()) {
-            int index = matcher.start();
-            String key = matcher.group( 1 );
-            String fallback = matcher.group( 2 );
-            String value = keyToExpansion.apply( key );
-
-            indexToEnds.put( index, matcher.end() );
-            indexToExpansions.put( index, checkNotNull( ifNotNullElseNullable( value, fallback ), //
-                    "No value for required expansion key: %s", key ) );
-        }
+        return compileExpansion( source, keyPrefix ).expand( keyToExpansion );
+    }
 
-        SortedSet<Integer> reverseIndexes = Sets.newTreeSet( Collections.reverseOrder() );
-        reverseIndexes.addAll( indexToExpansions.keySet() );
+    /**
+     * Parse a source string into a template that can be {@link ExpansionTemplate#expand(Function) expanded} as described by {@link
+     * #expand(String, String, Function)}.
+     * <p/>
+     * Templates are cached by source and key prefix (see {@link #EXPANSION_CACHE_SIZE_PROPERTY}), so a source is only parsed the first
+     * time it is expanded.
+     *
+     * @param source    The string to search for expansion words.
+     * @param keyPrefix The string that should come just before the opening curly-brace.
+     *
+     * @return A template for expanding the source string.
+     */
+    public static ExpansionTemplate compileExpansion(final String source, final String keyPrefix) {
 
-        StringBuilder filtered = new StringBuilder( source );
-        for (final Integer index : reverseIndexes)
-            filtered.replace( index, indexToEnds.get( index ), indexToExpansions.get( index ) );
+        Map.Entry<String, String> key = Maps.immutableEntry( keyPrefix, source );
+        ExpansionTemplate template = expansionTemplates.getIfPresent( key );
+        if (template == null)
+            expansionTemplates.put( key, template = new ExpansionTemplate( source, keyPrefix ) );
 
-        return filtered.toString();
+        return template;
     }
 
     public static String indent(final int indents) {
@@ -222,11 +318,7 @@ public abstract class StringUtils {
 
     public static String indent(final int indents, final int size) {
 
-        StringBuilder indent = new StringBuilder( indents * size );
-        for (int i = 0; i < indents * size; i++)
-            indent.append( ' ' );
-
-        return indent.toString();
+        return spaces( indents * size );
     }
 
     public static String indent(final int indents, final int size, final String message) {
@@ -234,12 +326,152 @@ public abstract class StringUtils {
         return indent( indents, size ) + message;
     }
 
+    /**
+     * Append indentation to a builder without creating an intermediate string.
+     *
+     * @param builder The builder to append the indentation to.
+     * @param indents The amount of indentations.
+     * @param size    The amount of spaces in an indentation.
+     *
+     * @return The given builder.
+     */
+    public static StringBuilder indent(final StringBuilder builder, final int indents, final int size) {
+
+        for (int remaining = indents * size; remaining > 0; remaining -= SPACES.length - 1)
+            builder.append( SPACES[Math.min( remaining, SPACES.length - 1 )] );
+
+        return builder;
+    }
+
+    /**
+     * Append indentation to an appendable without creating an intermediate string.
+     *
+     * @param appendable The appendable to append the indentation to.
+     * @param indents    The amount of indentations.
+     * @param size       The amount of spaces in an indentation.
+     *
+     * @return The given appendable.
+     *
+     * @throws IOException If the appendable failed.
+     */
+    public static <A extends Appendable> A indent(final A appendable, final int indents, final int size)
+            throws IOException {
+
+        for (int remaining = indents * size; remaining > 0; remaining -= SPACES.length - 1)
+            appendable.append( SPACES[Math.min( remaining, SPACES.length - 1 )] );
+
+        return appendable;
+    }
+
     public static String repeat(final String s, final int repeat) {
 
-        StringBuilder repeatedString = new StringBuilder( repeat * s.length() );
-        for (int i = 0; i < repeat; ++i)
-            repeatedString.append( s );
+        int length = s.length();
+        if (repeat <= 0 || length == 0)
+            return "";
+        if (repeat == 1)
+            return s;
+
+        char[] repeated = new char[length * repeat];
+        s.getChars( 0, length, repeated, 0 );
+        for (int filled = length; filled < repeated.length; filled *= 2)
+            System.arraycopy( repeated, 0, repeated, filled, Math.min( filled, repeated.length - filled ) );
 
-        return repeatedString.toString();
+        return new String( repeated );
+    }
+
+    public static String repeat(final char c, final int repeat) {
+
+        if (repeat <= 0)
+            return "";
+
+        char[] repeated = new char[repeat];
+        Arrays.fill( repeated, c );
+
+        return new String( repeated );
+    }
+
+    private static String spaces(final int amount) {
+
+        if (amount < SPACES.length)
+            return SPACES[Math.max( 0, amount )];
+
+        return repeat( ' ', amount );
+    }
+
+    /**
+     * A source string that has been parsed into its literal text and the expansion words in between.
+     *
+     * @see #compileExpansion(String, String)
+     */
+    public static final class ExpansionTemplate {
+
+        private final String[] literals;
+        private final String[] keys;
+        private final String[] fallbacks;
+        private final int      literalsLength;
+
+        ExpansionTemplate(final String source, final String keyPrefix) {
+
+            List<String> literals = Lists.newArrayList(), keys = Lists.newArrayList(), fallbacks = Lists.newArrayList();
+            String open = keyPrefix + '{';
+            int literalsLength = 0, literalStart = 0;
+            for (int index; (index = source.indexOf( open, literalStart )) != -1; ) {
+                int keyStart = index + open.length(), keyEnd = source.indexOf( '}', keyStart );
+                if (keyEnd == -1)
+                    break;
+
+                String literal = source.substring( literalStart, index );
+                literals.add( literal );
+                literalsLength += literal.length();
+
+                int fallbackStart = source.indexOf( ':', keyStart );
+                if (fallbackStart == -1 || fallbackStart > keyEnd) {
+                    keys.add( source.substring( keyStart, keyEnd ) );
+                    fallbacks.add( null );
+                } else {
+                    keys.add( source.substring( keyStart, fallbackStart ) );
+                    fallbacks.add( source.substring( fallbackStart + 1, keyEnd ) );
+                }
+
+                literalStart = keyEnd + 1;
+            }
+
+            String literal = source.substring( literalStart );
+            literals.add( literal );
+            literalsLength += literal.length();
+
+            this.literals = literals.toArray( new String[literals.size()] );
+            this.keys = keys.toArray( new String[keys.size()] );
+            this.fallbacks = fallbacks.toArray( new String[fallbacks.size()] );
+            this.literalsLength = literalsLength;
+        }
+
+        /**
+         * @param keyToExpansion The function that determines the value to expand an expansion word into.  It is invoked for each expansion
+         *                       word in the order in which they occur.
+         *
+         * @return An expanded version of the source string.
+         *
+         * @see StringUtils#expand(String, String, Function)
+         */
+        public String expand(final Function<String, String> keyToExpansion) {
+
+            if (keys.length == 0)
+                return literals[0];
+
+            String[] expansions = new String[keys.length];
+            int length = literalsLength;
+            for (int k = 0; k < keys.length; ++k) {
+                expansions[k] = checkNotNull( ifNotNullElseNullable( keyToExpansion.apply( keys[k] ), fallbacks[k] ), //
+                        "No value for required expansion key: %s", keys[k] );
+                length += expansions[k].length();
+            }
+
+            StringBuilder expanded = new StringBuilder( length ).append( literals[0] );
+            for (int k = 0; k < keys.length; ++k)
+                expanded.append( expansions[k] ).append( literals[k + 1] );
+
+            return expanded.toString();
+        }
     }
 }
@@ -3,13 +3,20 @@ package net.link.util.util;
 import static com.google.common.base.Preconditions.checkArgument;
 
 import com.google.common.base.Function;
+import com.google.common.base.Optional;
 import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.MapMaker;
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.*;
 import java.lang.reflect.InvocationHandler;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Pattern;
 import net.link.util.logging.Logger;
 import net.sf.cglib.core.CollectionUtils;
@@ -33,6 +40,83 @@ public abstract class TypeUtils {
 
     private static final Objenesis objenesis = new ObjenesisStd();
 
+    /**
+     * The annotations found by {@link #findAnnotation(Class, Class)}, {@link #getAnnotations(Class, Class)} and {@link
+     * #findAnnotation(Method, Class)}, including their absence, held by the type that was searched so that they are released along with
+     * it.  Annotation types are weakly referenced so that lookups of foreign annotation types do not hold on to them.
+     */
+    private static final ClassValue<ConcurrentMap<Class<? extends Annotation>, Optional<Annotation>>>                         foundTypeAnnotations   = //
+            new ClassValue<ConcurrentMap<Class<? extends Annotation>, Optional<Annotation>>>() {
+                @Override
+                protected ConcurrentMap<Class<? extends Annotation>, Optional<Annotation>> computeValue(final Class<?> type) {
+
+                    return newAnnotationMap();
+                }
+            };
+    private static final ClassValue<ConcurrentMap<Class<? extends Annotation>, Map<?, ?>>>                                    allTypeAnnotations     = //
+            new ClassValue<ConcurrentMap<Class<? extends Annotation>, Map<?, ?>>>() {
+                @Override
+                protected ConcurrentMap<Class<? extends Annotation>, Map<?, ?>> computeValue(final Class<?> type) {
+
+                    return newAnnotationMap();
+                }
+            };
+    private static final ClassValue<ConcurrentMap<Method, ConcurrentMap<Class<? extends Annotation>, Optional<Annotation>>>> foundMethodAnnotations = //
+            new ClassValue<ConcurrentMap<Method, ConcurrentMap<Class<? extends Annotation>, Optional<Annotation>>>>() {
+                @Override
+                protected ConcurrentMap<Method, ConcurrentMap<Class<? extends Annotation>, Optional<Annotation>>> computeValue(
+                        final Class<?> type) {
+
+                    return new ConcurrentHashMap<Method, ConcurrentMap<Class<? extends Annotation>, Optional<Annotation>>>();
+                }
+            };
+
+    /**
+     * The outcome of resolving class names in each classloader.  Classloaders are weakly referenced so that they can be released.
+     */
+    private static final ConcurrentMap<ClassLoader, ClassNames>    classLoaderNames = new MapMaker().weakKeys().makeMap();
+    /**
+     * The public no-arg constructor of each type, or absent if it has none that can be invoked.
+     */
+    private static final ClassValue<Optional<MethodHandle>> constructors     = new ClassValue<Optional<MethodHandle>>() {
+        @Override
+        protected Optional<MethodHandle> computeValue(final Class<?> type) {
+
+            try {
+                if (Modifier.isAbstract( type.getModifiers() ))
+                    return Optional.absent();
+
+                return Optional.of( MethodHandles.publicLookup()
+                                                 .unreflectConstructor( type.getConstructor() )
+                                                 .asType( MethodType.methodType( Object.class ) ) );
+            }
+            catch (ReflectiveOperationException e) {
+                logger.trc( e, "No public no-arg constructor: %s", type );
+                return Optional.absent();
+            }
+        }
+    };
+
+    private static final AtomicLong proxyClassLookups = new AtomicLong();
+    private static final AtomicLong proxyClassMisses  = new AtomicLong();
+
+    /**
+     * The proxy class generated for each type, bound to a {@link MethodInterceptor} callback.  Held by the type itself so that it is
+     * released along with it.
+     */
+    private static final ClassValue<Class<?>> proxyClasses = new ClassValue<Class<?>>() {
+        @Override
+        protected Class<?> computeValue(final Class<?> type) {
+
+            proxyClassMisses.incrementAndGet();
+
+            Enhancer enhancer = newEnhancer( type );
+            enhancer.setCallbackType( MethodInterceptor.class );
+
+            return enhancer.createClass();
+        }
+    };
+
     /**
      * Load the named class.
      *
@@ -45,12 +129,7 @@ public abstract class TypeUtils {
     @SuppressWarnings({ "unchecked" })
     public static <T> Class<T> findClass(final String typeName) {
 
-        try {
-            return (Class<T>) Thread.currentThread().getContextClassLoader().loadClass( typeName );
-        }
-        catch (ClassNotFoundException e) {
-            return null;
-        }
+        return (Class<T>) resolveClass( typeName );
     }
 
     /**
@@ -67,12 +146,47 @@ public abstract class TypeUtils {
     @SuppressWarnings({ "unchecked" })
     public static <T> Class<T> loadClass(final String typeName) {
 
+        Class<?> type = resolveClass( typeName );
+        if (type == null)
+            throw Throwables.propagate( new ClassNotFoundException( typeName ) );
+
+        return (Class<T>) type;
+    }
+
+    /**
+     * Resolve the named class in the thread's context classloader, remembering the outcome (including its absence) for the next lookup
+     * of the name in that classloader.
+     *
+     * @param typeName The name of the class that should be loaded.
+     *
+     * @return A class object or <code>null</code> if the type could not be found.
+     */
+    @Nullable
+    private static Class<?> resolveClass(final String typeName) {
+
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        ClassNames classNames = classLoaderNames.get( classLoader );
+        if (classNames == null) {
+            ClassNames newClassNames = new ClassNames();
+            classNames = classLoaderNames.putIfAbsent( classLoader, newClassNames );
+            if (classNames == null)
+                classNames = newClassNames;
+        }
+
+        Class<?> type = classNames.found.get( typeName );
+        if (type != null || classNames.missing.contains( typeName ))
+            return type;
+
         try {
-            return (Class<T>) Thread.currentThread().getContextClassLoader().loadClass( typeName );
+            type = classLoader.loadClass( typeName );
+            classNames.found.put( typeName, type );
         }
         catch (ClassNotFoundException e) {
-            throw Throwables.propagate( e );
+            logger.trc( e, "Class not found: %s (in %s)", typeName, classLoader );
+            classNames.missing.add( typeName );
         }
+
+        return type;
     }
 
     /**
@@ -88,6 +202,15 @@ public abstract class TypeUtils {
      */
     public static <T> T newInstance(final Class<T> type) {
 
+        Optional<MethodHandle> constructor = constructors.get( type );
+        if (constructor.isPresent())
+            try {
+                return type.cast( (Object) constructor.get().invokeExact() );
+            }
+            catch (Throwable t) {
+                throw Throwables.propagate( new InvocationTargetException( t ) );
+            }
+
         try {
             return type.getConstructor().newInstance();
         }
@@ -119,27 +242,14 @@ public abstract class TypeUtils {
     @SuppressWarnings({ "unchecked" })
     public static <T> T newInstance(final String typeName) {
 
-        try {
-            return (T) loadClass( typeName ).getConstructor().newInstance();
-        }
-        catch (InstantiationException e) {
-            throw Throwables.propagate( e );
-        }
-        catch (IllegalAccessException e) {
-            throw Throwables.propagate( e );
-        }
-        catch (InvocationTargetException e) {
-            throw Throwables.propagate( e );
-        }
-        catch (NoSuchMethodException e) {
-            throw Throwables.propagate( e );
-        }
+        return (T) newInstance( loadClass( typeName ) );
     }
 
     /**
      * Creates a proxy instance of the given type that triggers the given {@code invocationHandler} whenever a method is invoked on it.
      * <p/>
-     * The instance is created without invoking its constructor.
+     * The instance is created without invoking its constructor.  The proxy class is generated only once per type; each call creates a new
+     * instance of it bound to the given handler.
      *
      * @param type              The class that defines the methods that can be invoked on the proxy.
      * @param invocationHandler The handler that will be invoked for each method invoked on the proxy.
@@ -159,19 +269,36 @@ public abstract class TypeUtils {
             }
         };
 
-        Enhancer enhancer = newEnhancer( type );
-        enhancer.setCallbackType( interceptor.getClass() );
-
-        Class<?> mockClass = enhancer.createClass();
-        Enhancer.registerCallbacks( mockClass, new Callback[] { interceptor } );
+        proxyClassLookups.incrementAndGet();
+        Factory mock = (Factory) objenesis.newInstance( proxyClasses.get( type ) );
 
-        // cglib code that normally gets called in the constructor.  Since we instantiated without calling the constructor call it manually.
-        Factory mock = (Factory) objenesis.newInstance( mockClass );
-        mock.getCallback( 0 );
+        // cglib normally binds the callbacks in the constructor.  Since we instantiated without calling the constructor, bind it manually.
+        mock.setCallback( 0, interceptor );
 
         return type.cast( mock );
     }
 
+    /**
+     * @return The amount of {@link #newProxyInstance(Class, InvocationHandler)} calls that could reuse an already generated proxy class.
+     */
+    public static long getProxyClassCacheHits() {
+
+        return proxyClassLookups.get() - proxyClassMisses.get();
+    }
+
+    /**
+     * @return The amount of {@link #newProxyInstance(Class, InvocationHandler)} calls that needed to generate a proxy class.
+     */
+    public static long getProxyClassCacheMisses() {
+
+        return proxyClassMisses.get();
+    }
+
+    private static <V> ConcurrentMap<Class<? extends Annotation>, V> newAnnotationMap() {
+
+        return new MapMaker().weakKeys().makeMap();
+    }
+
     private static Enhancer newEnhancer(final Class<?> type) {
 
         return new Enhancer() {
@@ -201,6 +328,17 @@ public abstract class TypeUtils {
     @Nullable
     public static <A extends Annotation> A findAnnotation(final Class<?> type, final Class<A> annotationType) {
 
+        ConcurrentMap<Class<? extends Annotation>, Optional<Annotation>> typeAnnotations = foundTypeAnnotations.get( type );
+        Optional<Annotation> annotation = typeAnnotations.get( annotationType );
+        if (annotation == null)
+            typeAnnotations.put( annotationType, annotation = Optional.<Annotation>fromNullable( searchAnnotation( type, annotationType ) ) );
+
+        return annotationType.cast( annotation.orNull() );
+    }
+
+    @Nullable
+    private static <A extends Annotation> A searchAnnotation(final Class<?> type, final Class<A> annotationType) {
+
         A annotation = type.getAnnotation( annotationType );
         if (annotation != null)
             return annotation;
@@ -231,8 +369,20 @@ public abstract class TypeUtils {
      * <code>[TT = T or a supertype of T -> [ TTT = TT or interface of TT -> annotation on TTT ]]</code>
      */
     @NotNull
+    @SuppressWarnings("unchecked")
     public static <T, A extends Annotation> Map<Class<? super T>, Map<Class<?>, A>> getAnnotations(final Class<T> type, final Class<A> annotationType) {
 
+        ConcurrentMap<Class<? extends Annotation>, Map<?, ?>> typeAnnotations = allTypeAnnotations.get( type );
+        Map<?, ?> annotations = typeAnnotations.get( annotationType );
+        if (annotations == null)
+            typeAnnotations.put( annotationType, annotations = searchAnnotations( type, annotationType ) );
+
+        return (Map<Class<? super T>, Map<Class<?>, A>>) annotations;
+    }
+
+    private static <T, A extends Annotation> Map<Class<? super T>, Map<Class<?>, A>> searchAnnotations(final Class<T> type,
+                                                                                                        final Class<A> annotationType) {
+
         ImmutableMap.Builder<Class<? super T>, Map<Class<?>, A>> typeHierarchyAnnotations = ImmutableMap.builder();
         ImmutableMap.Builder<Class<?>, A> typeAnnotations = ImmutableMap.builder();
 
@@ -265,6 +415,26 @@ public abstract class TypeUtils {
     @Nullable
     public static <A extends Annotation> A findAnnotation(final Method method, final Class<A> annotationType) {
 
+        ConcurrentMap<Method, ConcurrentMap<Class<? extends Annotation>, Optional<Annotation>>> declaredMethodAnnotations = //
+                foundMethodAnnotations.get( method.getDeclaringClass() );
+        ConcurrentMap<Class<? extends Annotation>, Optional<Annotation>> methodAnnotations = declaredMethodAnnotations.get( method );
+        if (methodAnnotations == null) {
+            ConcurrentMap<Class<? extends Annotation>, Optional<Annotation>> newMethodAnnotations = newAnnotationMap();
+            methodAnnotations = declaredMethodAnnotations.putIfAbsent( method, newMethodAnnotations );
+            if (methodAnnotations == null)
+                methodAnnotations = newMethodAnnotations;
+        }
+
+        Optional<Annotation> annotation = methodAnnotations.get( annotationType );
+        if (annotation == null)
+            methodAnnotations.put( annotationType, annotation = Optional.<Annotation>fromNullable( searchAnnotation( method, annotationType ) ) );
+
+        return annotationType.cast( annotation.orNull() );
+    }
+
+    @Nullable
+    private static <A extends Annotation> A searchAnnotation(final Method method, final Class<A> annotationType) {
+
         A annotation = method.getAnnotation( annotationType );
         if (annotation != null) {
             //logger.debug( "Found annotation {} on {}", annotationType, method );
@@ -368,24 +538,86 @@ public abstract class TypeUtils {
         return eachFieldFunction.apply( new LastResult<Class<?>, R>( type, firstResult ) );
     }
 
+    /**
+     * Visit each type in a given type's hierarchy and/or their interfaces, starting from the type itself, until a visitor asks to stop.
+     *
+     * @param type             The type whose hierarchy to descend.
+     * @param typeVisitor      The visitor to invoke for each type in the hierarchy.  Invoked before the interfaceVisitor on the type.
+     * @param interfaceVisitor The visitor to invoke for each interface of each type in the hierarchy.  Invoked after the typeVisitor on
+     *                         the type.
+     * @param <T>              The type whose hierarchy to descend.
+     *
+     * @return <code>true</code> if a visitor stopped the traversal, <code>false</code> if the whole hierarchy was visited.
+     */
+    public static <T> boolean visitSuperTypesOf(@NotNull final Class<T> type, @Nullable final Visitor<Class<?>> typeVisitor,
+                                                @Nullable final Visitor<Class<?>> interfaceVisitor) {
+
+        for (Class<? super T> currentType = type; currentType != null; currentType = currentType.getSuperclass()) {
+            if (typeVisitor != null && typeVisitor.visit( currentType ) == Visit.STOP)
+                return true;
+
+            if (interfaceVisitor != null)
+                for (final Class<?> interfaceType : currentType.getInterfaces())
+                    if (interfaceVisitor.visit( interfaceType ) == Visit.STOP)
+                        return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Visit each field declared in a given type until the visitor asks to stop.
+     *
+     * @param type    The type whose declared fields to visit.
+     * @param visitor The visitor to invoke for each of the declared fields.
+     * @param descend <code>true</code> if the given type's hierarchy should also be descended to visit fields declared by its supertypes.
+     * @param <T>     The type whose declared fields to visit.
+     *
+     * @return <code>true</code> if the visitor stopped the traversal, <code>false</code> if all fields were visited.
+     */
+    public static <T> boolean visitFieldsOf(@NotNull final Class<T> type, @NotNull final Visitor<Field> visitor, final boolean descend) {
+
+        for (Class<? super T> currentType = type; currentType != null; currentType = descend? currentType.getSuperclass(): null)
+            for (final Field field : currentType.getDeclaredFields())
+                if (!field.isSynthetic() && !Modifier.isStatic( field.getModifiers() )) {
+                    logger.trc( "Iteration of %s: %s", currentType, field );
+                    if (visitor.visit( field ) == Visit.STOP)
+                        return true;
+                }
+
+        return false;
+    }
+
+    /**
+     * @param owner The object whose fields to search.
+     * @param value The value to search for.
+     *
+     * @return The first field, starting from the owner's type and descending into its supertypes, that holds the given value in the
+     * owner, or {@code null} if no field holds it.
+     */
+    @Nullable
     public static Field findFirstField(final Object owner, final Object value) {
 
-        return forEachFieldOf( owner.getClass(), new Function<LastResult<Field, Field>, Field>() {
+        final Field[] found = new Field[1];
+        visitFieldsOf( owner.getClass(), new Visitor<Field>() {
             @Override
-            public Field apply(final LastResult<Field, Field> from) {
+            public Visit visit(final Field field) {
 
                 try {
-                    from.getCurrent().setAccessible( true );
-                    if (ObjectUtils.equals( from.getCurrent().get( owner ), value ))
-                        throw new BreakException( from.getCurrent() );
+                    field.setAccessible( true );
+                    if (!ObjectUtils.equals( field.get( owner ), value ))
+                        return Visit.CONTINUE;
+
+                    found[0] = field;
+                    return Visit.STOP;
                 }
                 catch (IllegalAccessException e) {
                     throw logger.bug( e );
                 }
-
-                return from.getLastResult();
             }
-        }, null, true );
+        }, true );
+
+        return found[0];
     }
 
     /**
@@ -493,12 +725,64 @@ public abstract class TypeUtils {
     }
 
 
+    /**
+     * The class names that were resolved in a classloader.  Classes are weakly referenced so that they do not hold on to the classloader
+     * that is keyed by them.
+     */
+    private static final class ClassNames {
+
+        final ConcurrentMap<String, Class<?>> found   = new MapMaker().weakValues().makeMap();
+        final Set<String>                     missing = Collections.newSetFromMap( new ConcurrentHashMap<String, Boolean>() );
+    }
+
+
+    /**
+     * Visits the elements of a traversal, such as {@link #visitSuperTypesOf(Class, Visitor, Visitor)} or {@link #visitFieldsOf(Class,
+     * Visitor, boolean)}.
+     *
+     * @param <C> The type of the elements that are visited.
+     */
+    public interface Visitor<C> {
+
+        /**
+         * @param current The element being visited.
+         *
+         * @return Whether the traversal should go on to the next element.
+         */
+        @NotNull
+        Visit visit(@NotNull C current);
+    }
+
+
+    /**
+     * The outcome of a {@link Visitor}'s visit.
+     */
+    public enum Visit {
+        /**
+         * Go on to the next element of the traversal.
+         */
+        CONTINUE,
+        /**
+         * End the traversal without visiting any further elements.
+         */
+        STOP
+    }
+
+
+    /**
+     * Ends the current step of a {@link #forEachSuperTypeOf(Class, Function, Function, Object)} or {@link #forEachFieldOf(Class, Function,
+     * Object, boolean)} operation with the given result.
+     * <p/>
+     * Since it is used for control flow, this exception does not capture a stack trace.  Prefer a {@link Visitor} that returns {@link
+     * Visit#STOP} to end a traversal without throwing.
+     */
     public static class BreakException extends RuntimeException {
 
         private final transient Object result;
 
         public BreakException(final Object result) {
 
+            super( null, null, false, false );
             this.result = result;
         }
 
@@ -0,0 +1,50 @@
+package test.unit.net.link.util.logging;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.atomic.AtomicReference;
+import net.link.util.logging.Logger;
+import org.junit.Test;
+
+
+public class AsyncLoggerTest {
+
+    static {
+        // Tests are forked per class, so this is set before Logger is loaded.
+        System.setProperty( Logger.ASYNC_PROPERTY, "true" );
+    }
+
+    private static final Logger logger = Logger.get( AsyncLoggerTest.class );
+
+    @Test(timeout = 10000)
+    public void testFailingArgument()
+            throws Exception {
+
+        // setup
+        final AtomicReference<Thread> formattedOn = new AtomicReference<>();
+        Object failing = new Object() {
+            @Override
+            public String toString() {
+
+                throw new IllegalStateException( "toString failed" );
+            }
+        };
+        Object recording = new Object() {
+            @Override
+            public String toString() {
+
+                formattedOn.set( Thread.currentThread() );
+                return "recorded";
+            }
+        };
+
+        // operate
+        logger.inf( "failing: %s", failing );
+        logger.inf( "recording: %s", recording );
+        Logger.flush();
+
+        // verify
+        assertNotNull( formattedOn.get() );
+        assertNotSame( "the event after the failing one should be formatted by the consumer", Thread.currentThread(), formattedOn.get() );
+    }
+}
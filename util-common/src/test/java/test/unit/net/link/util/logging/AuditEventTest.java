@@ -0,0 +1,89 @@
+package test.unit.net.link.util.logging;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+import net.link.util.logging.AuditEvent;
+import net.link.util.logging.Logger;
+import net.link.util.logging.Markers;
+import org.junit.Test;
+
+
+public class AuditEventTest {
+
+    private static final Logger logger = Logger.get( AuditEventTest.class );
+
+    @Test
+    public void testReuseAfterLog()
+            throws Exception {
+
+        // setup
+        AuditEvent logged = logger.auditEvent( "first" ).with( "attempt", 1 );
+        logged.log();
+        AuditEvent next = logger.auditEvent( "second" ).with( "attempt", 2 );
+
+        // verify: the logged event's writer now encodes the next event, the logged event must not write into it.
+        try {
+            logged.with( "attempt", 3 );
+            fail( "Expected a logged event to refuse new fields." );
+        }
+        catch (final IllegalStateException ignored) {
+        }
+        try {
+            logged.log();
+            fail( "Expected a logged event to refuse being logged again." );
+        }
+        catch (final IllegalStateException ignored) {
+        }
+
+        next.with( "success", true ).log();
+        try {
+            next.log();
+            fail( "Expected a logged event to refuse being logged again." );
+        }
+        catch (final IllegalStateException ignored) {
+        }
+    }
+
+    @Test
+    public void testEncoding()
+            throws Exception {
+
+        // setup
+        RecordingLogger recorder = RecordingLogger.install( logger );
+
+        // operate
+        logger.auditEvent( "encoding" )
+              .with( "quote", "a\"b\\c" )
+              .with( "control", "\n\r\t\u0001\u001f" )
+              .with( "unicode", "\u00e9\u20ac\ud834\udd1e" )
+              .with( "surrogates", "x\ud800y\udc00" )
+              .with( "min", Long.MIN_VALUE )
+              .with( "max", Long.MAX_VALUE )
+              .with( "negative", -42 )
+              .with( "nan", Double.NaN )
+              .with( "infinity", Double.NEGATIVE_INFINITY )
+              .with( "fraction", 1.5 )
+              .with( "whole", -3.0 )
+              .with( "huge", 0x1p63 )
+              .with( "nothing", (Object) null )
+              .with( "flag", false )
+              .with( "letter", 'q' )
+              .log();
+
+        // verify: the line was decoded from UTF-8 to be logged.
+        List<RecordingLogger.Event> events = recorder.getEvents( "{" );
+        assertEquals( 1, events.size() );
+        assertSame( Markers.AUDIT, events.get( 0 ).getMarker() );
+        assertEquals( "{\"timestamp\":0,\"type\":\"audit\",\"logger\":\"" + AuditEventTest.class.getCanonicalName() + "\","
+                      + "\"event\":\"encoding\",\"thread\":\"" + Thread.currentThread().getName() + "\","
+                      + "\"quote\":\"a\\\"b\\\\c\","
+                      + "\"control\":\"\\n\\r\\t\\u0001\\u001f\","
+                      + "\"unicode\":\"\u00e9\u20ac\ud834\udd1e\","
+                      + "\"surrogates\":\"x\\ud800y\\udc00\","
+                      + "\"min\":-9223372036854775808,\"max\":9223372036854775807,\"negative\":-42,"
+                      + "\"nan\":null,\"infinity\":null,\"fraction\":1.5,\"whole\":-3,\"huge\":9.223372036854776E18,"
+                      + "\"nothing\":null,\"flag\":false,\"letter\":\"q\"}", //
+                events.get( 0 ).getMessage().replaceFirst( "\"timestamp\":\\d+", "\"timestamp\":0" ) );
+    }
+}
@@ -0,0 +1,84 @@
+package test.unit.net.link.util.logging;
+
+import static org.junit.Assert.*;
+
+import com.google.common.base.Charsets;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import net.link.util.logging.Logger;
+import org.junit.Test;
+
+
+public class AuditSinkTest {
+
+    private static final File auditFile;
+
+    static {
+        // Tests are forked per class, so this is set before the audit sink is opened.
+        try {
+            auditFile = File.createTempFile( "audit", ".json" );
+            auditFile.deleteOnExit();
+            System.setProperty( Logger.AUDIT_FILE_PROPERTY, auditFile.getPath() );
+        }
+        catch (final IOException e) {
+            throw new ExceptionInInitializerError( e );
+        }
+    }
+
+    private static final Logger  logger = Logger.get( AuditSinkTest.class );
+    private static final Pattern LINE   = Pattern.compile(
+            "\\{\"timestamp\":\\d+,\"type\":\"audit\",\"logger\":\"[^\"]+\",\"event\":\"batch\",\"thread\":\"[^\"]+\","
+            + "\"writer\":(\\d+),\"sequence\":(\\d+),\"text\":\"\u00e9\\\\\"\\\\n\"\\}" );
+
+    @Test(timeout = 30000)
+    public void testConcurrentEventsAreAllWrittenInOrder()
+            throws Exception {
+
+        // setup
+        final int writers = 8, events = 250;
+        ExecutorService executor = Executors.newFixedThreadPool( writers );
+        final CountDownLatch start = new CountDownLatch( 1 );
+        List<Future<?>> futures = new ArrayList<>();
+
+        // operate: events that are logged while a batch is being synced share the next batch.
+        for (int w = 0; w < writers; ++w) {
+            final int writer = w;
+            futures.add( executor.submit( new Callable<Void>() {
+                @Override
+                public Void call()
+                        throws Exception {
+
+                    start.await();
+                    for (int e = 0; e < events; ++e)
+                        logger.auditEvent( "batch" ).with( "writer", writer ).with( "sequence", e ).with( "text", "\u00e9\"\n" ).log();
+
+                    return null;
+                }
+            } ) );
+        }
+        start.countDown();
+        for (final Future<?> future : futures)
+            future.get();
+        executor.shutdown();
+
+        // verify: durable events are on disk once log() returns, each on its own line and in the order each thread logged them.
+        List<String> lines = Files.readAllLines( auditFile.toPath(), Charsets.UTF_8 );
+        assertEquals( writers * events, lines.size() );
+        int[] next = new int[writers];
+        for (final String line : lines) {
+            Matcher matcher = LINE.matcher( line );
+            assertTrue( line, matcher.matches() );
+
+            int writer = Integer.parseInt( matcher.group( 1 ) );
+            assertEquals( next[writer]++, Integer.parseInt( matcher.group( 2 ) ) );
+        }
+        for (final int sequence : next)
+            assertEquals( events, sequence );
+    }
+}
@@ -0,0 +1,88 @@
+package test.unit.net.link.util.logging;
+
+import static org.junit.Assert.*;
+
+import com.google.common.base.Supplier;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.link.util.logging.LazyArgument;
+import net.link.util.logging.Logger;
+import org.junit.Test;
+
+
+public class LoggerTest {
+
+    static {
+        // Tests are forked per class, so this is set before Logger is loaded.  Don't poll, so that only refreshLevels() loads levels.
+        System.setProperty( Logger.LEVEL_REFRESH_PROPERTY, "0" );
+    }
+
+    private final Logger logger = Logger.get( LoggerTest.class );
+
+    @Test
+    public void testRefreshLevels()
+            throws Exception {
+
+        // setup
+        RecordingLogger recorder = RecordingLogger.install( logger );
+        assertTrue( logger.isDebugEnabled() );
+
+        // operate
+        recorder.setLevel( "info" );
+
+        // verify: levels are cached until they are refreshed.
+        assertTrue( logger.isDebugEnabled() );
+        Logger.refreshLevels();
+        assertFalse( logger.isDebugEnabled() );
+        assertTrue( logger.isInfoEnabled() );
+
+        logger.dbg( "disabled" );
+        logger.inf( "enabled" );
+        assertEquals( 1, recorder.getEvents().size() );
+        assertEquals( "enabled", recorder.getEvents().get( 0 ).getMessage() );
+
+        recorder.setLevel( "debug" );
+        Logger.refreshLevels();
+        assertTrue( logger.isDebugEnabled() );
+    }
+
+    @Test
+    public void testLazyArgument()
+            throws Exception {
+
+        // setup
+        RecordingLogger recorder = RecordingLogger.install( logger );
+        recorder.setLevel( "info" );
+        Logger.refreshLevels();
+        final AtomicInteger evaluations = new AtomicInteger();
+        Supplier<Integer> supplier = new Supplier<Integer>() {
+            @Override
+            public Integer get() {
+
+                return evaluations.incrementAndGet();
+            }
+
+            @Override
+            public String toString() {
+
+                return "supplier";
+            }
+        };
+
+        // operate
+        logger.dbg( "lazy: %d", LazyArgument.of( supplier ) );
+
+        // verify: not evaluated for a disabled level.
+        assertEquals( 0, evaluations.get() );
+        assertTrue( recorder.getEvents().isEmpty() );
+
+        // operate
+        logger.inf( "lazy: %d", LazyArgument.of( supplier ) );
+        logger.inf( "plain: %s", supplier );
+
+        // verify: evaluated once for an enabled level, and only when it's a LazyArgument.
+        assertEquals( 1, evaluations.get() );
+        assertEquals( 2, recorder.getEvents().size() );
+        assertEquals( "lazy: 1", recorder.getEvents().get( 0 ).getMessage() );
+        assertEquals( "plain: supplier", recorder.getEvents().get( 1 ).getMessage() );
+    }
+}
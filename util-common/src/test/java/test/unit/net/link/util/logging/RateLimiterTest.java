@@ -0,0 +1,117 @@
+package test.unit.net.link.util.logging;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import net.link.util.logging.Logger;
+import net.link.util.logging.Markers;
+import org.junit.Test;
+
+
+public class RateLimiterTest {
+
+    static {
+        // Tests are forked per class, so these are set before Logger is loaded.
+        System.setProperty( Logger.RATE_LIMIT_PROPERTY, "1" );
+        System.setProperty( Logger.RATE_LIMIT_BURST_PROPERTY, "3" );
+        System.setProperty( Logger.REPEATED_TRACE_INTERVAL_PROPERTY, "60000" );
+    }
+
+    private static final Pattern SUMMARY = Pattern.compile( "Suppressed (\\d+) similar messages in the last \\d+ seconds: (.*)" );
+
+    private final Logger logger = Logger.get( RateLimiterTest.class );
+
+    @Test
+    public void testStormIsCutToBurst()
+            throws Exception {
+
+        // setup
+        RecordingLogger recorder = RecordingLogger.install( logger );
+
+        // operate
+        for (int e = 0; e < 100; ++e)
+            logger.inf( "storm %d", e );
+
+        // verify: the bucket refills one event per second, the storm should take much less than that.
+        List<RecordingLogger.Event> emitted = recorder.getEvents( "storm " );
+        assertTrue( "emitted: " + emitted.size(), emitted.size() == 3 || emitted.size() == 4 );
+        assertEquals( "storm 0", emitted.get( 0 ).getMessage() );
+        assertEquals( "storm 2", emitted.get( 2 ).getMessage() );
+    }
+
+    @Test
+    public void testAuditAndBugAreNotLimited()
+            throws Exception {
+
+        // setup
+        RecordingLogger recorder = RecordingLogger.install( logger );
+
+        // operate
+        for (int e = 0; e < 100; ++e) {
+            logger.inf( Markers.AUDIT, null, "audit %d", e );
+            logger.err( Markers.BUG, null, "bug %d", e );
+            logger.wrn( Markers.SECURITY, null, "security %d", e );
+        }
+
+        // verify
+        assertEquals( 100, recorder.getEvents( "audit " ).size() );
+        assertEquals( 100, recorder.getEvents( "bug " ).size() );
+        assertTrue( recorder.getEvents( "security " ).size() < 100 );
+    }
+
+    @Test
+    public void testSuppressedCountIsSummarizedOnEviction()
+            throws Exception {
+
+        // setup
+        RecordingLogger recorder = RecordingLogger.install( logger );
+        for (int e = 0; e < 10; ++e)
+            logger.inf( "evicted %d", e );
+        int suppressed = 10 - recorder.getEvents( "evicted " ).size();
+
+        // operate: more call sites than are tracked, so that the first one is evicted.
+        for (int callSite = 0; callSite < 20000; ++callSite)
+            logger.inf( "call site " + callSite );
+
+        // verify: the summary may also have come from the periodic run.
+        int summarized = 0;
+        for (final RecordingLogger.Event event : recorder.getEvents( "Suppressed " )) {
+            Matcher matcher = SUMMARY.matcher( event.getMessage() );
+            assertTrue( event.getMessage(), matcher.matches() );
+            if ("evicted %d".equals( matcher.group( 2 ) ))
+                summarized += Integer.parseInt( matcher.group( 1 ) );
+        }
+        assertTrue( suppressed > 0 );
+        assertEquals( suppressed, summarized );
+    }
+
+    @Test
+    public void testRepeatedCauseIsEmittedWithoutThrowable()
+            throws Exception {
+
+        // setup
+        RecordingLogger recorder = RecordingLogger.install( logger );
+        List<Throwable> causes = new ArrayList<>();
+        for (int c = 0; c < 2; ++c)
+            // Same types and frames, different messages.
+            causes.add( new IllegalStateException( "failure " + c, new IllegalArgumentException( "reason " + c ) ) );
+        Throwable other = new IllegalStateException( "failure 2" );
+
+        // operate
+        logger.wrn( causes.get( 0 ), "repeated 0" );
+        logger.wrn( causes.get( 1 ), "repeated 1" );
+        logger.wrn( other, "repeated 2" );
+
+        // verify
+        List<RecordingLogger.Event> emitted = recorder.getEvents( "repeated " );
+        assertEquals( 3, emitted.size() );
+        assertSame( causes.get( 0 ), emitted.get( 0 ).getCause() );
+        assertEquals( "repeated 0", emitted.get( 0 ).getMessage() );
+        assertNull( emitted.get( 1 ).getCause() );
+        assertEquals( String.format( "repeated 1 [%s, stack trace as logged before]", causes.get( 1 ) ), emitted.get( 1 ).getMessage() );
+        assertSame( other, emitted.get( 2 ).getCause() );
+    }
+}
@@ -0,0 +1,123 @@
+package test.unit.net.link.util.logging;
+
+import com.google.common.collect.ImmutableList;
+import java.lang.reflect.*;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import net.link.util.logging.Logger;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Marker;
+
+
+/**
+ * An SLF4J logger that records the events that reach it, so that tests don't depend on the logging backend.
+ */
+public class RecordingLogger implements InvocationHandler {
+
+    private static final List<String> LEVELS = ImmutableList.of( "trace", "debug", "info", "warn", "error" );
+
+    private final List<Event> events = new CopyOnWriteArrayList<>();
+
+    private volatile int threshold;
+
+    /**
+     * Replace the SLF4J logger of the given logger with a new recording logger that has all levels enabled.
+     */
+    public static RecordingLogger install(final Logger logger)
+            throws ReflectiveOperationException {
+
+        RecordingLogger recorder = new RecordingLogger();
+        Field slf4j = Logger.class.getDeclaredField( "logger" );
+        slf4j.setAccessible( true );
+        slf4j.set( logger, Proxy.newProxyInstance( org.slf4j.Logger.class.getClassLoader(), new Class<?>[]{ org.slf4j.Logger.class },
+                recorder ) );
+        Logger.refreshLevels();
+
+        return recorder;
+    }
+
+    /**
+     * @param level The name of the lowest level to enable, eg. {@code "info"}.
+     */
+    public void setLevel(final String level) {
+
+        threshold = LEVELS.indexOf( level );
+    }
+
+    public List<Event> getEvents() {
+
+        return events;
+    }
+
+    /**
+     * @return The recorded events whose message starts with the given prefix.
+     */
+    public List<Event> getEvents(final String prefix) {
+
+        ImmutableList.Builder<Event> matching = ImmutableList.builder();
+        for (final Event event : events)
+            if (event.getMessage().startsWith( prefix ))
+                matching.add( event );
+
+        return matching.build();
+    }
+
+    @Override
+    @Nullable
+    public Object invoke(final Object proxy, final Method method, final Object[] args) {
+
+        String name = method.getName();
+        if (name.startsWith( "is" ) && name.endsWith( "Enabled" ))
+            return LEVELS.indexOf( name.substring( 2, name.length() - 7 ).toLowerCase() ) >= threshold;
+        if ("getName".equals( name ) || "toString".equals( name ))
+            return RecordingLogger.class.getName();
+        if ("hashCode".equals( name ))
+            return System.identityHashCode( proxy );
+        if ("equals".equals( name ))
+            return proxy == args[0];
+
+        // Logger only emits through the (Marker, String, Throwable) variants.
+        if (LEVELS.contains( name ) && args.length == 3 && method.getParameterTypes()[0] == Marker.class)
+            events.add( new Event( name, (Marker) args[0], (String) args[1], (Throwable) args[2] ) );
+
+        return null;
+    }
+
+    public static class Event {
+
+        private final String    level;
+        private final Marker    marker;
+        private final String    message;
+        private final Throwable cause;
+
+        Event(final String level, @Nullable final Marker marker, final String message, @Nullable final Throwable cause) {
+
+            this.level = level;
+            this.marker = marker;
+            this.message = message;
+            this.cause = cause;
+        }
+
+        public String getLevel() {
+
+            return level;
+        }
+
+        @Nullable
+        public Marker getMarker() {
+
+            return marker;
+        }
+
+        public String getMessage() {
+
+            return message;
+        }
+
+        @Nullable
+        public Throwable getCause() {
+
+            return cause;
+        }
+    }
+}
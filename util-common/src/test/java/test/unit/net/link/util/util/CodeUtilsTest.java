@@ -0,0 +1,129 @@
+package test.unit.net.link.util.util;
+
+import static org.junit.Assert.*;
+
+import com.google.common.base.Charsets;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import net.link.util.util.CodeUtils;
+import org.junit.Test;
+
+
+public class CodeUtilsTest {
+
+    @Test
+    public void testHex()
+            throws Exception {
+
+        // setup
+        byte[] data = new byte[256];
+        new Random( 42 ).nextBytes( data );
+
+        // verify
+        StringBuilder expected = new StringBuilder();
+        for (final byte b : data)
+            expected.append( String.format( "%02X", b ) );
+        assertEquals( expected.toString(), CodeUtils.encodeHex( data ) );
+        assertArrayEquals( data, CodeUtils.decodeHex( CodeUtils.encodeHex( data ) ) );
+        assertArrayEquals( data, CodeUtils.decodeHex( CodeUtils.encodeHex( data ).toLowerCase() ) );
+        assertArrayEquals( data, CodeUtils.decodeHex( CodeUtils.encodeHex( data, true ) ) );
+        assertEquals( "0A:FF:00", CodeUtils.encodeHex( new byte[]{ 0x0A, (byte) 0xFF, 0 }, true ) );
+        assertEquals( "", CodeUtils.encodeHex( new byte[0], true ) );
+        assertEquals( "", CodeUtils.encodeHex( null ) );
+        assertEquals( 0, CodeUtils.decodeHex( null ).length );
+    }
+
+    @Test
+    public void testDecodeHexRejectsMalformedInput()
+            throws Exception {
+
+        // verify
+        for (final String malformed : new String[]{ "ABC", "0G", "0A:F", "0A-FF", "+1", "0A:FF:" })
+            try {
+                CodeUtils.decodeHex( malformed );
+                fail( "Expected malformed hex to be rejected: " + malformed );
+            }
+            catch (IllegalArgumentException ignored) {
+            }
+    }
+
+    @Test
+    public void testBase64()
+            throws Exception {
+
+        Random random = new Random( 42 );
+        for (final int size : new int[]{ 0, 1, 2, 3, 4, 5, 57, 100 * 1024 + 1 }) {
+            // setup
+            byte[] data = new byte[size];
+            random.nextBytes( data );
+            String expected = CodeUtils.encodeBase64( data );
+
+            // verify
+            CharBuffer chars = CharBuffer.allocate( CodeUtils.base64Length( size ) );
+            CodeUtils.encodeBase64( ByteBuffer.wrap( data ), chars );
+            assertEquals( expected, chars.flip().toString() );
+
+            ByteBuffer ascii = ByteBuffer.allocate( CodeUtils.base64Length( size ) );
+            CodeUtils.encodeBase64( ByteBuffer.wrap( data ), ascii );
+            assertEquals( expected, new String( ascii.array(), Charsets.US_ASCII ) );
+
+            ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+            CodeUtils.encodeBase64( new ByteArrayInputStream( data ), encoded );
+            assertEquals( expected, encoded.toString( "US-ASCII" ) );
+
+            ByteBuffer decoded = ByteBuffer.allocate( CodeUtils.decodedBase64Length( expected.length() ) );
+            CodeUtils.decodeBase64( CharBuffer.wrap( expected ), decoded );
+            assertArrayEquals( data, Arrays.copyOf( decoded.array(), decoded.position() ) );
+
+            ByteArrayOutputStream decodedStream = new ByteArrayOutputStream();
+            CodeUtils.decodeBase64( new ByteArrayInputStream( expected.replaceAll( "(.{76})", "$1\r\n" ).getBytes( Charsets.US_ASCII ) ),
+                    decodedStream );
+            assertArrayEquals( data, decodedStream.toByteArray() );
+        }
+    }
+
+    @Test
+    public void testBase64StreamBlocks()
+            throws Exception {
+
+        // setup
+        byte[] data = new byte[98302];
+        new Random( 42 ).nextBytes( data );
+        String expected = CodeUtils.encodeBase64( data );
+
+        // verify: a single line break in the first block of 65536 characters leaves three digits to carry into the next block.
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        CodeUtils.decodeBase64( new ByteArrayInputStream( //
+                (expected.substring( 0, 76 ) + '\n' + expected.substring( 76 )).getBytes( Charsets.US_ASCII ) ), decoded );
+        assertArrayEquals( data, decoded.toByteArray() );
+
+        // verify: short reads leave incomplete groups of bytes to carry into the next read.
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        CodeUtils.encodeBase64( new ByteArrayInputStream( data ) {
+            @Override
+            public synchronized int read(final byte[] b, final int off, final int len) {
+
+                return super.read( b, off, Math.min( len, 65534 ) );
+            }
+        }, encoded );
+        assertEquals( expected, encoded.toString( "US-ASCII" ) );
+    }
+
+    @Test
+    public void testDecodeBase64RejectsMalformedInput()
+            throws Exception {
+
+        // verify
+        for (final String malformed : new String[]{ "QUJD*", "QUJDR", "Q===", "QU\u00E9" })
+            try {
+                CodeUtils.decodeBase64( CharBuffer.wrap( malformed ), ByteBuffer.allocate( 16 ) );
+                fail( "Expected malformed base64 to be rejected: " + malformed );
+            }
+            catch (IllegalArgumentException ignored) {
+            }
+    }
+}
@@ -0,0 +1,107 @@
+package test.unit.net.link.util.util;
+
+import static org.junit.Assert.*;
+
+import com.google.common.base.Optional;
+import java.math.BigInteger;
+import java.text.ParsePosition;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import net.link.util.util.ConversionUtils;
+import org.junit.Test;
+
+
+public class ConversionUtilsTest {
+
+    @Test
+    public void testParseLong()
+            throws Exception {
+
+        // setup
+        String[] inputs = {
+                "0", "-0", "+7", "9223372036854775807", "9223372036854775808", "-9223372036854775808", "-9223372036854775809", "2147483648",
+                "", "-", "1.5", " 1", "1 ", "0x10", "١٢"
+        };
+
+        // verify
+        for (final String input : inputs) {
+            ParsePosition position = new ParsePosition( 0 );
+            long value = ConversionUtils.parseLong( input, position );
+            try {
+                assertEquals( input, Long.parseLong( input ), value );
+                assertEquals( input, -1, position.getErrorIndex() );
+                assertEquals( input, input.length(), position.getIndex() );
+            }
+            catch (final NumberFormatException ignored) {
+                assertTrue( input, position.getErrorIndex() >= 0 );
+                assertEquals( input, 0, value );
+            }
+
+            position = new ParsePosition( 0 );
+            int intValue = ConversionUtils.parseInt( input, position );
+            try {
+                assertEquals( input, Integer.parseInt( input ), intValue );
+                assertEquals( input, -1, position.getErrorIndex() );
+            }
+            catch (final NumberFormatException ignored) {
+                assertTrue( input, position.getErrorIndex() >= 0 );
+            }
+        }
+
+        ParsePosition position = new ParsePosition( 4 );
+        assertEquals( 42, ConversionUtils.parseLong( "id: 42", position ) );
+        assertEquals( 6, position.getIndex() );
+        assertEquals( 0, ConversionUtils.parseLong( "12a4", position = new ParsePosition( 0 ) ) );
+        assertEquals( 2, position.getErrorIndex() );
+    }
+
+    @Test
+    public void testParseDouble()
+            throws Exception {
+
+        // setup
+        Random random = new Random( 42 );
+        String[] inputs = {
+                "0", "-0", "1.", ".5", "1e-5", "+1E22", "1e23", "0.1", "123456789012345", "1234567890123456", "4.9e-324", "1e400", " 1.5\n",
+                "2f", "NaN", "-Infinity", "0x1.8p1", "", ".", "1e", "1.2.3", "Infinityd", "nan", "1_000"
+        };
+
+        // verify
+        for (int i = 0; i < inputs.length + 10000; ++i) {
+            String input = i < inputs.length? inputs[i]: Double.toString( Double.longBitsToDouble( random.nextLong() ) );
+            ParsePosition position = new ParsePosition( 0 );
+            double value = ConversionUtils.parseDouble( input, position );
+            try {
+                assertEquals( input, Double.doubleToLongBits( Double.parseDouble( input ) ), Double.doubleToLongBits( value ) );
+                assertEquals( input, -1, position.getErrorIndex() );
+            }
+            catch (final NumberFormatException ignored) {
+                assertTrue( input, position.getErrorIndex() >= 0 );
+            }
+        }
+    }
+
+    @Test
+    public void testConversions()
+            throws Exception {
+
+        // verify
+        assertEquals( Optional.of( 12L ), ConversionUtils.toLong( 12 ) );
+        assertEquals( Optional.of( 12L ), ConversionUtils.toLong( new StringBuilder( "12" ) ) );
+        assertEquals( Optional.of( 12L ), ConversionUtils.toLong( new AtomicLong( 12 ) ) );
+        assertEquals( Optional.<Long>absent(), ConversionUtils.toLong( BigInteger.ONE.shiftLeft( 64 ) ) );
+        assertEquals( Optional.<Long>absent(), ConversionUtils.toLong( 1.5 ) );
+        assertEquals( Optional.<Long>absent(), ConversionUtils.toLong( "x" ) );
+        assertEquals( 0, ConversionUtils.toLongNN( "x" ) );
+        assertEquals( Integer.valueOf( 7 ), ConversionUtils.toInteger( 7L ) );
+        assertNull( ConversionUtils.toInteger( 1L << 40 ) );
+        assertEquals( 0, ConversionUtils.toIntegerNN( "x" ) );
+        assertEquals( Optional.of( 0.1 ), ConversionUtils.toDouble( "0.1" ) );
+        assertEquals( Optional.of( 0.1 ), ConversionUtils.toDouble( 0.1f ) );
+        assertEquals( Optional.of( 3.0 ), ConversionUtils.toDouble( 3 ) );
+        assertEquals( Optional.<Double>absent(), ConversionUtils.toDouble( "x" ) );
+        assertEquals( 0, ConversionUtils.toDoubleNN( "x" ), 0 );
+        assertEquals( Optional.of( true ), ConversionUtils.toBoolean( new StringBuilder( "TrUe" ) ) );
+        assertFalse( ConversionUtils.toBooleanNN( "yes" ) );
+    }
+}
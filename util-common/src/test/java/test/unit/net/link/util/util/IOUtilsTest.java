@@ -0,0 +1,149 @@
+package test.unit.net.link.util.util;
+
+import static org.junit.Assert.*;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.Sets;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.zip.*;
+import net.link.util.util.IOUtils;
+import net.link.util.util.IOUtils.GrepMatch;
+import net.link.util.util.TypeUtils.Visit;
+import net.link.util.util.TypeUtils.Visitor;
+import org.junit.Test;
+
+
+public class IOUtilsTest {
+
+    @Test
+    public void testGrep()
+            throws Exception {
+
+        // setup
+        Path root = Files.createTempDirectory( "grep" );
+        Path nested = Files.createDirectory( root.resolve( "nested" ) );
+        Files.write( root.resolve( "a.log" ), Arrays.asList( "error: one", "info: two", "error: three" ), Charsets.UTF_8 );
+        Files.write( nested.resolve( "b.log" ), Arrays.asList( "info: four", "error: five" ), Charsets.UTF_8 );
+        Pattern pattern = Pattern.compile( "^error: (.*)$" );
+        ForkJoinPool pool = new ForkJoinPool( 2 );
+
+        try {
+            // verify
+            for (final ForkJoinPool searchPool : Arrays.asList( null, pool )) {
+                final Set<String> matches = Sets.newConcurrentHashSet();
+                assertFalse( IOUtils.grep( Charsets.UTF_8, pattern, root, 1, Integer.MAX_VALUE, searchPool, new Visitor<GrepMatch>() {
+                    @Override
+                    public Visit visit(final GrepMatch match) {
+
+                        matches.add( match.getFile().getFileName() + ":" + match.getLineNumber() + ":" + match.getMatch() );
+                        return Visit.CONTINUE;
+                    }
+                } ) );
+                assertEquals( Sets.newHashSet( "a.log:1:one", "a.log:3:three", "b.log:2:five" ), matches );
+
+                final List<GrepMatch> limited = new ArrayList<GrepMatch>();
+                assertTrue( IOUtils.grep( Charsets.UTF_8, pattern, root, 0, 2, searchPool, new Visitor<GrepMatch>() {
+                    @Override
+                    public Visit visit(final GrepMatch match) {
+
+                        limited.add( match );
+                        return Visit.CONTINUE;
+                    }
+                } ) );
+                assertEquals( 2, limited.size() );
+            }
+
+            String legacy = IOUtils.grep( Charsets.UTF_8, pattern, root.toFile(), 1 );
+            assertEquals( Sets.newHashSet( "one", "three", "five" ), Sets.newHashSet( legacy.split( System.getProperty( "line.separator" ) ) ) );
+        }
+        finally {
+            pool.shutdown();
+            Files.delete( nested.resolve( "b.log" ) );
+            Files.delete( nested );
+            Files.delete( root.resolve( "a.log" ) );
+            Files.delete( root );
+        }
+    }
+
+    @Test
+    public void testGrepVisitorFailure()
+            throws Exception {
+
+        // setup
+        Path root = Files.createTempDirectory( "grep" );
+        List<Path> files = new ArrayList<Path>();
+        for (int f = 0; f < 200; ++f)
+            files.add( Files.write( root.resolve( f + ".log" ), Arrays.asList( "error: " + f, "error: again" ), Charsets.UTF_8 ) );
+        Pattern pattern = Pattern.compile( "^error: (.*)$" );
+        ForkJoinPool pool = new ForkJoinPool( 4 );
+
+        try {
+            // verify: the first failure ends the search, no more matches are visited and the failure is rethrown.
+            for (final ForkJoinPool searchPool : Arrays.asList( null, pool )) {
+                final AtomicInteger visits = new AtomicInteger();
+                final IllegalStateException failure = new IllegalStateException( "visitor failed" );
+                try {
+                    IOUtils.grep( Charsets.UTF_8, pattern, root, 1, Integer.MAX_VALUE, searchPool, new Visitor<GrepMatch>() {
+                        @Override
+                        public Visit visit(final GrepMatch match) {
+
+                            visits.incrementAndGet();
+                            throw failure;
+                        }
+                    } );
+                    fail( "Expected the visitor's failure to be rethrown." );
+                }
+                catch (final IllegalStateException e) {
+                    assertSame( failure, e );
+                }
+                assertEquals( 1, visits.get() );
+            }
+        }
+        finally {
+            pool.shutdown();
+            for (final Path file : files)
+                Files.delete( file );
+            Files.delete( root );
+        }
+    }
+
+    @Test
+    public void testZipEntries()
+            throws Exception {
+
+        // setup
+        Path archive = Files.createTempFile( "entries", ".zip" );
+        ZipOutputStream zip = new ZipOutputStream( Files.newOutputStream( archive ) );
+        for (final String name : new String[]{ "META-INF/MANIFEST.MF", "docs\\Read Me.txt", "a//b/c.txt" }) {
+            zip.putNextEntry( new ZipEntry( name ) );
+            zip.write( name.getBytes( Charsets.UTF_8 ) );
+            zip.closeEntry();
+        }
+        zip.close();
+        ZipFile zipFile = new ZipFile( archive.toFile() );
+
+        try {
+            // verify
+            assertEquals( "META-INF/MANIFEST.MF", IOUtils.getZipEntry( zipFile, "META-INF\\MANIFEST.MF" ).getName() );
+            assertEquals( "docs\\Read Me.txt", IOUtils.getZipEntry( zipFile, "docs/Read Me.txt" ).getName() );
+            assertEquals( "a//b/c.txt", IOUtils.getZipEntry( zipFile, "a/b//c.txt" ).getName() );
+            assertNull( IOUtils.getZipEntry( zipFile, "meta-inf/manifest.mf" ) );
+            assertEquals( "META-INF/MANIFEST.MF", IOUtils.getZipEntryIgnoreCase( zipFile, "meta-inf/manifest.mf" ).getName() );
+
+            ZipEntry entry = IOUtils.getZipEntry( zipFile, "a/b/c.txt" );
+            ByteBuffer contents = IOUtils.readZipEntry( zipFile, entry );
+            assertEquals( "a//b/c.txt", Charsets.UTF_8.decode( contents ).toString() );
+            assertEquals( "a//b/c.txt", Charsets.UTF_8.decode( IOUtils.readZipEntry( zipFile, entry ) ).toString() );
+        }
+        finally {
+            zipFile.close();
+            Files.delete( archive );
+        }
+    }
+}
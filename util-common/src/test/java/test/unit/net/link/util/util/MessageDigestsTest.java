@@ -0,0 +1,112 @@
+package test.unit.net.link.util.util;
+
+import static org.junit.Assert.*;
+
+import com.google.common.io.ByteSource;
+import com.google.common.util.concurrent.ForwardingExecutorService;
+import java.io.ByteArrayInputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.link.util.util.MessageDigests;
+import org.junit.Test;
+
+
+public class MessageDigestsTest {
+
+    @Test
+    public void testStreamingDigests()
+            throws Exception {
+
+        // setup
+        byte[] data = new byte[200 * 1024 + 7];
+        new Random( 42 ).nextBytes( data );
+        Path file = Files.createTempFile( "digest", ".bin" );
+        Files.write( file, data );
+
+        try {
+            // verify
+            for (final MessageDigests digest : MessageDigests.values()) {
+                byte[] expected = digest.of( data );
+                assertArrayEquals( expected, digest.of( ByteSource.wrap( data ) ) );
+                assertArrayEquals( expected, digest.of( new ByteArrayInputStream( data ) ) );
+                assertArrayEquals( expected, digest.of( Channels.newChannel( new ByteArrayInputStream( data ) ) ) );
+                assertArrayEquals( expected, digest.of( file ) );
+            }
+        }
+        finally {
+            Files.delete( file );
+        }
+    }
+
+    @Test
+    public void testMultipleDigests()
+            throws Exception {
+
+        // setup
+        byte[] data = new byte[200 * 1024 + 7];
+        new Random( 42 ).nextBytes( data );
+        Set<MessageDigests> algorithms = EnumSet.of( MessageDigests.SHA1, MessageDigests.SHA256, MessageDigests.SHA512 );
+        ExecutorService executor = Executors.newFixedThreadPool( 2 );
+
+        try {
+            // verify
+            for (final Map<MessageDigests, byte[]> digests : Arrays.asList( //
+                    MessageDigests.ofAll( algorithms, data ), //
+                    MessageDigests.ofAll( algorithms, data, executor ), //
+                    MessageDigests.ofAll( algorithms, new ByteArrayInputStream( data ), null ), //
+                    MessageDigests.ofAll( algorithms, new ByteArrayInputStream( data ), executor ) )) {
+                assertEquals( algorithms, digests.keySet() );
+                for (final MessageDigests algorithm : algorithms)
+                    assertArrayEquals( algorithm.of( data ), digests.get( algorithm ) );
+            }
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testMultipleDigestsWithRejectingExecutor()
+            throws Exception {
+
+        // setup
+        byte[] data = new byte[200 * 1024 + 7];
+        new Random( 42 ).nextBytes( data );
+        Set<MessageDigests> algorithms = EnumSet.of( MessageDigests.SHA1, MessageDigests.SHA256, MessageDigests.SHA512 );
+        final ExecutorService delegate = Executors.newFixedThreadPool( 2 );
+        final AtomicInteger submitted = new AtomicInteger();
+        ExecutorService executor = new ForwardingExecutorService() {
+            @Override
+            protected ExecutorService delegate() {
+
+                return delegate;
+            }
+
+            @Override
+            public Future<?> submit(final Runnable task) {
+
+                if (submitted.incrementAndGet() % 2 == 0)
+                    throw new RejectedExecutionException( "Saturated." );
+
+                return super.submit( task );
+            }
+        };
+
+        try {
+            // verify: rejected algorithms are run on the calling thread, and later digests are unaffected.
+            for (int run = 0; run < 3; ++run)
+                for (final Map<MessageDigests, byte[]> digests : Arrays.asList( //
+                        MessageDigests.ofAll( algorithms, data, executor ), //
+                        MessageDigests.ofAll( algorithms, new ByteArrayInputStream( data ), executor ) ))
+                    for (final MessageDigests algorithm : algorithms)
+                        assertArrayEquals( algorithm.of( data ), digests.get( algorithm ) );
+        }
+        finally {
+            delegate.shutdown();
+        }
+    }
+}
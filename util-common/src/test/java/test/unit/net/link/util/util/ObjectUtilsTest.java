@@ -0,0 +1,202 @@
+package test.unit.net.link.util.util;
+
+import static org.junit.Assert.*;
+
+import com.google.common.collect.ImmutableMap;
+import java.lang.reflect.Method;
+import java.util.*;
+import net.link.util.util.*;
+import org.junit.Assume;
+import org.junit.Test;
+
+
+public class ObjectUtilsTest {
+
+    static {
+        // Tests are forked per class, so this is set before ObjectUtils is loaded.
+        System.setProperty( ObjectUtils.MAX_HASHED_ELEMENTS_PROPERTY, "2" );
+    }
+
+    @Test
+    public void testGeneratedMetaMatchesReflection()
+            throws Exception {
+
+        // Generated accessors are defined through ClassLoader#defineClass, which JDK 9+ only opens up with --add-opens java.base/java.lang.
+        Method defineClass = ClassLoader.class.getDeclaredMethod( "defineClass", String.class, byte[].class, int.class, int.class );
+        try {
+            defineClass.setAccessible( true );
+        }
+        catch (final RuntimeException e) {
+            Assume.assumeNoException( e );
+        }
+
+        // setup
+        ReflectedObject reflected = new ReflectedObject();
+        GeneratedObject generated = new GeneratedObject();
+
+        // verify
+        assertFalse( MetaAccessor.isGenerated( ReflectedObject.class ) );
+        assertTrue( MetaAccessor.isGenerated( GeneratedObject.class ) );
+        assertEquals( reflected.hashCode(), generated.hashCode() );
+        assertEquals( fields( reflected ), fields( generated ) );
+        assertTrue( generated.equals( new GeneratedObject() ) );
+        assertFalse( new GeneratedObject().equals( generated.with( -2.5 ) ) );
+        assertEquals( reflected.with( 3 ).hashCode(), generated.with( 3 ).hashCode() );
+    }
+
+    @Test
+    public void testHashCodeOfEqualSetsIteratedInDifferentOrders()
+            throws Exception {
+
+        // setup: the elements share a bucket, so each set iterates them in the order they were added.
+        Set<Integer> forward = new HashSet<>( Arrays.asList( 1, 17, 33, 49 ) );
+        Set<Integer> backward = new HashSet<>( Arrays.asList( 49, 33, 17, 1 ) );
+        assertFalse( new ArrayList<>( forward ).equals( new ArrayList<>( backward ) ) );
+
+        // verify: the hashCode covers all elements, not just the first ones in iteration order.
+        assertEquals( new SetObject( forward ), new SetObject( backward ) );
+        assertEquals( new SetObject( forward ).hashCode(), new SetObject( backward ).hashCode() );
+        assertTrue( new SetObject( forward ).hashCode() != new SetObject( new HashSet<>( Arrays.asList( 1, 17, 33 ) ) ).hashCode() );
+    }
+
+    @Test
+    public void testDescribeTruncatesElements()
+            throws Exception {
+
+        // verify
+        assertEquals( "[1, 2]", describe( Arrays.asList( 1, 2 ), 2, 10, 1000 ) );
+        assertEquals( "[1, 2, [...]]", describe( Arrays.asList( 1, 2, 3, 4 ), 2, 10, 1000 ) );
+        assertEquals( "<O[]:[1, 2, [...]]>", describe( new Object[]{ 1, 2, 3 }, 2, 10, 1000 ) );
+        assertEquals( "<M:[1=\"a\"], [[...]]>", describe( ImmutableMap.of( 1, "a", 2, "b" ), 1, 10, 1000 ) );
+        assertEquals( "[1, 2, 3, 4]", ObjectUtils.describe( Arrays.asList( 1, 2, 3, 4 ) ) );
+    }
+
+    @Test
+    public void testDescribeLimitsDepth()
+            throws Exception {
+
+        // setup
+        List<Object> nested = Arrays.<Object>asList( 1, Arrays.asList( 2, Arrays.asList( 3 ) ) );
+
+        // verify
+        assertEquals( "[[...]]", describe( nested, 10, 0, 1000 ) );
+        assertEquals( "[1, [[...]]]", describe( nested, 10, 1, 1000 ) );
+        assertEquals( "[1, [2, [[...]]]]", describe( nested, 10, 2, 1000 ) );
+        assertEquals( "[1, [2, [3]]]", describe( nested, 10, 3, 1000 ) );
+        assertEquals( "<M:[1=[[...]]]>", describe( ImmutableMap.of( 1, nested ), 10, 1, 1000 ) );
+    }
+
+    @Test
+    public void testDescribeCutsOffAtMaxLength()
+            throws Exception {
+
+        // setup
+        StringBuilder description = new StringBuilder( "value=" );
+
+        // operate
+        ObjectUtils.describe( "abcdef", description, 10, 10, 4 );
+
+        // verify: the length excludes what the builder held before and the indicator.
+        assertEquals( "value=\"abc[...]", description.toString() );
+        assertEquals( "\"abcdef\"", describe( "abcdef", 10, 10, 8 ) );
+        // Elements past the limit aren't described at all.
+        assertEquals( "[1, 2[...]", describe( Arrays.asList( 1, 2, 3, 4 ), 10, 10, 5 ) );
+    }
+
+    @Test
+    public void testDescribeCycles()
+            throws Exception {
+
+        // setup
+        List<Object> list = new ArrayList<>();
+        list.add( 1 );
+        list.add( list );
+        Map<Object, Object> map = new HashMap<>();
+        map.put( 1, map );
+
+        // verify: the depth limit ends the cycle.
+        assertEquals( "[1, [1, [[...]]]]", describe( list, 10, 2, 1000 ) );
+        assertEquals( "<M:[1=<M:[1=<M:[[...]]>]>]>", describe( map, 10, 2, 1000 ) );
+        assertEquals( "[1, [1, [1, [[...]]]]]", ObjectUtils.describeLazily( list ).toString() );
+        assertEquals( "<M:[1=<M:[1=<M:[1=<M:[[...]]>]>]>]>", ObjectUtils.describeLazily( map ).toString() );
+    }
+
+    @Test
+    public void testDescribeLazily()
+            throws Exception {
+
+        // setup
+        List<Object> list = new ArrayList<>();
+        list.add( 1 );
+
+        // operate
+        Object description = ObjectUtils.describeLazily( list, 1, 10, 1000 );
+        list.add( 2 );
+
+        // verify: the description is made when it's used, with the given bounds.
+        assertEquals( "[1, [...]]", description.toString() );
+        assertEquals( "[1[...]", ObjectUtils.describeLazily( list, 10, 10, 2 ).toString() );
+    }
+
+    private static String describe(final Object o, final int maxElements, final int maxDepth, final int maxLength) {
+
+        return ObjectUtils.describe( o, new StringBuilder(), maxElements, maxDepth, maxLength ).toString();
+    }
+
+    private static String fields(final Object o) {
+
+        return o.toString().substring( o.toString().indexOf( ':' ) );
+    }
+
+    @SuppressWarnings("UnusedDeclaration")
+    private static class ReflectedObject extends MetaObject {
+
+        private       int          count  = 7;
+        private       long         big    = 1L << 40 | 5;
+        private       boolean      flag   = true;
+        private       char         letter = 'q';
+        private       float        ratio  = 1.5f;
+        private       double       amount = -2.25;
+        private final String       name   = "name";
+        private final List<String> names  = Arrays.asList( "a", "b" );
+
+        ReflectedObject with(final double amount) {
+
+            this.amount = amount;
+            return this;
+        }
+    }
+
+
+    @GeneratedMeta
+    @SuppressWarnings("UnusedDeclaration")
+    private static class GeneratedObject extends MetaObject {
+
+        private       int          count  = 7;
+        private       long         big    = 1L << 40 | 5;
+        private       boolean      flag   = true;
+        private       char         letter = 'q';
+        private       float        ratio  = 1.5f;
+        private       double       amount = -2.25;
+        private final String       name   = "name";
+        private final List<String> names  = Arrays.asList( "a", "b" );
+
+        GeneratedObject with(final double amount) {
+
+            this.amount = amount;
+            return this;
+        }
+    }
+
+
+    @SuppressWarnings("UnusedDeclaration")
+    private static class SetObject extends MetaObject {
+
+        private final Set<Integer> values;
+
+        SetObject(final Set<Integer> values) {
+
+            this.values = values;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package test.unit.net.link.util.util;
+
+import static org.junit.Assert.*;
+
+import com.google.common.base.Function;
+import com.google.common.base.Functions;
+import com.google.common.collect.ImmutableMap;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import net.link.util.util.StringUtils;
+import org.jetbrains.annotations.Nullable;
+import org.junit.Test;
+
+
+public class StringUtilsTest {
+
+    @Test
+    public void testIsEqualConstant()
+            throws Exception {
+
+        // verify
+        assertTrue( StringUtils.isEqualConstant( (String) null, null ) );
+        assertFalse( StringUtils.isEqualConstant( "token", null ) );
+        assertTrue( StringUtils.isEqualConstant( "t\u00F6ken", new StringBuilder( "t\u00F6ken" ) ) );
+        assertFalse( StringUtils.isEqualConstant( "t\u00F6ken", "t\u00F5ken" ) );
+        assertFalse( StringUtils.isEqualConstant( "\u00E9a", "\u00E9b" ) );
+        assertFalse( StringUtils.isEqualConstant( "token", "tokens" ) );
+        assertTrue( StringUtils.isEqualConstant( "token".toCharArray(), "token".toCharArray() ) );
+        assertFalse( StringUtils.isEqualConstant( new byte[]{ 1, 2 }, new byte[]{ 1, 3 } ) );
+
+        ByteBuffer buffer = ByteBuffer.wrap( new byte[]{ 0, 1, 2 } );
+        buffer.position( 1 );
+        assertTrue( StringUtils.isEqualConstant( buffer, ByteBuffer.wrap( new byte[]{ 1, 2 } ) ) );
+        assertEquals( 1, buffer.position() );
+    }
+
+    @Test
+    public void testIndentAndRepeat()
+            throws Exception {
+
+        // verify
+        assertEquals( "", StringUtils.indent( 0 ) );
+        assertEquals( "        ", StringUtils.indent( 2 ) );
+        assertEquals( 300, StringUtils.indent( 100, 3 ).length() );
+        assertEquals( "  - x", StringUtils.indent( new StringBuilder( "  " ), 0, 4 ).append( "- x" ).toString() );
+        assertEquals( 70, StringUtils.indent( (Appendable) new StringBuilder(), 7, 10 ).toString().length() );
+        assertEquals( "", StringUtils.repeat( "ab", 0 ) );
+        assertEquals( "abababab", StringUtils.repeat( "ab", 4 ) );
+        assertEquals( "abcabcabcabcabcabcabc", StringUtils.repeat( "abc", 7 ) );
+        assertEquals( "xxx", StringUtils.repeat( 'x', 3 ) );
+    }
+
+    @Test
+    public void testExpand()
+            throws Exception {
+
+        // setup
+        Function<String, String> values = Functions.forMap( ImmutableMap.of( "karma", "bad", "a", "A", "b", "B" ), null );
+
+        // verify
+        assertEquals( "I am a bad sentence.", StringUtils.expand( "I am a ${karma} sentence.", "$", values ) );
+        assertEquals( "I am a good sentence.", StringUtils.expand( "I am a ${mood:good} sentence.", "$", values ) );
+        assertEquals( "[]", StringUtils.expand( "[${mood:}]", "$", values ) );
+        assertEquals( "A, http://x:80/", StringUtils.expand( "${a}, ${url:http://x:80/}", "$", values ) );
+        assertEquals( "A ${b", StringUtils.expand( "${a} ${b", "$", values ) );
+        assertEquals( "bad", StringUtils.expand( "${karma ${b}", "$", Functions.forMap( ImmutableMap.of( "karma ${b", "bad" ) ) ) );
+        assertEquals( "A and #{b} and B", StringUtils.expand( "#%{a} and #{b} and #%{b}", "#%", values ) );
+        assertEquals( "xaA", StringUtils.expand( "xaa{a}", "a", values ) );
+        assertEquals( "aA", StringUtils.expand( "aaa{a}", "aa", values ) );
+        assertEquals( "$A", StringUtils.expand( "$$${a}", "$$", values ) );
+        assertEquals( "A.B", StringUtils.expand( ".{a}..{b}", ".", values ) );
+
+        try {
+            StringUtils.expand( "${a} ${missing}", "$", values );
+            fail( "Expected a required key without a value to be rejected." );
+        }
+        catch (final NullPointerException e) {
+            assertEquals( "No value for required expansion key: missing", e.getMessage() );
+        }
+    }
+
+    @Test
+    public void testExpandMatchesPatternExpansion()
+            throws Exception {
+
+        // setup
+        Random random = new Random( 42 );
+        char[] alphabet = "${}:ab#".toCharArray();
+        Function<String, String> values = new Function<String, String>() {
+            @Nullable
+            @Override
+            public String apply(@Nullable final String key) {
+
+                return key == null || key.length() % 3 == 0? null: '<' + key + '>';
+            }
+        };
+
+        // verify: the template parser yields what the original regular expression did.
+        for (int t = 0; t < 20000; ++t) {
+            char[] source = new char[random.nextInt( 16 )];
+            for (int c = 0; c < source.length; ++c)
+                source[c] = alphabet[random.nextInt( alphabet.length )];
+            String keyPrefix = random.nextBoolean()? "$": "$#";
+
+            String expected, actual;
+            try {
+                expected = expandWithPattern( new String( source ), keyPrefix, values );
+            }
+            catch (final NullPointerException ignored) {
+                expected = null;
+            }
+            try {
+                actual = StringUtils.expand( new String( source ), keyPrefix, values );
+            }
+            catch (final NullPointerException ignored) {
+                actual = null;
+            }
+            assertEquals( keyPrefix + " in " + new String( source ), expected, actual );
+        }
+    }
+
+    @Test
+    public void testCompileExpansionIsCached()
+            throws Exception {
+
+        // verify
+        StringUtils.ExpansionTemplate template = StringUtils.compileExpansion( "Hello ${name:you}", "$" );
+        assertSame( template, StringUtils.compileExpansion( new StringBuilder( "Hello ${name:you}" ).toString(), "$" ) );
+        assertNotSame( template, StringUtils.compileExpansion( "Hello ${name:you}", "#" ) );
+        assertEquals( "Hello you", template.expand( Functions.forMap( ImmutableMap.<String, String>of(), null ) ) );
+        assertEquals( "Hello me", template.expand( Functions.forMap( ImmutableMap.of( "name", "me" ) ) ) );
+    }
+
+    /**
+     * The regular expression based implementation that {@link StringUtils#expand(String, String, Function)} used to have.
+     */
+    private static String expandWithPattern(final String source, final String keyPrefix, final Function<String, String> keyToExpansion) {
+
+        Pattern keyPattern = Pattern.compile( String.format( "%s\\{([^\\}:]*)(?::([^\\}]*))?\\}", Pattern.quote( keyPrefix ) ) );
+        Matcher matcher = keyPattern.matcher( source );
+        StringBuilder expanded = new StringBuilder();
+        int end = 0;
+        while (matcher.find()) {
+            String value = keyToExpansion.apply( matcher.group( 1 ) );
+            if (value == null)
+                value = matcher.group( 2 );
+            if (value == null)
+                throw new NullPointerException( "No value for required expansion key: " + matcher.group( 1 ) );
+
+            expanded.append( source, end, matcher.start() ).append( value );
+            end = matcher.end();
+        }
+
+        return expanded.append( source, end, source.length() ).toString();
+    }
+}
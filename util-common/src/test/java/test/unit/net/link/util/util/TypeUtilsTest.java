@@ -0,0 +1,223 @@
+package test.unit.net.link.util.util;
+
+import static org.junit.Assert.*;
+
+import com.google.common.base.Function;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.Field;
+import java.util.*;
+import net.link.util.util.TypeUtils;
+import org.junit.Test;
+
+
+public class TypeUtilsTest {
+
+    @Test
+    public void testVisitSuperTypesStopsAtFirstMatch()
+            throws Exception {
+
+        // setup
+        final List<Class<?>> types = new ArrayList<>();
+        final List<Class<?>> interfaces = new ArrayList<>();
+
+        // operate
+        boolean stopped = TypeUtils.visitSuperTypesOf( ChildObject.class, new TypeUtils.Visitor<Class<?>>() {
+            @Override
+            public TypeUtils.Visit visit(final Class<?> current) {
+
+                types.add( current );
+                return current == BaseObject.class? TypeUtils.Visit.STOP: TypeUtils.Visit.CONTINUE;
+            }
+        }, new TypeUtils.Visitor<Class<?>>() {
+            @Override
+            public TypeUtils.Visit visit(final Class<?> current) {
+
+                interfaces.add( current );
+                return TypeUtils.Visit.CONTINUE;
+            }
+        } );
+
+        // verify
+        assertTrue( stopped );
+        assertEquals( ImmutableList.of( ChildObject.class, BaseObject.class ), types );
+        assertEquals( ImmutableList.of(), interfaces );
+    }
+
+    @Test
+    public void testVisitSuperTypesWithoutStop()
+            throws Exception {
+
+        // setup
+        final List<Class<?>> visited = new ArrayList<>();
+        TypeUtils.Visitor<Class<?>> visitor = new TypeUtils.Visitor<Class<?>>() {
+            @Override
+            public TypeUtils.Visit visit(final Class<?> current) {
+
+                visited.add( current );
+                return TypeUtils.Visit.CONTINUE;
+            }
+        };
+
+        // operate
+        boolean stopped = TypeUtils.visitSuperTypesOf( ChildObject.class, visitor, visitor );
+
+        // verify
+        assertFalse( stopped );
+        assertEquals( ImmutableList.of( ChildObject.class, BaseObject.class, Tagged.class, Object.class ), visited );
+    }
+
+    @Test
+    public void testVisitFieldsStopsAtFirstMatch()
+            throws Exception {
+
+        // setup
+        final List<String> visited = new ArrayList<>();
+
+        // operate
+        boolean stopped = TypeUtils.visitFieldsOf( ChildObject.class, new TypeUtils.Visitor<Field>() {
+            @Override
+            public TypeUtils.Visit visit(final Field current) {
+
+                visited.add( current.getName() );
+                return "child".equals( current.getName() )? TypeUtils.Visit.STOP: TypeUtils.Visit.CONTINUE;
+            }
+        }, true );
+
+        // verify
+        assertTrue( stopped );
+        assertEquals( ImmutableList.of( "first", "child" ), visited );
+    }
+
+    @Test
+    public void testVisitFieldsWithoutStop()
+            throws Exception {
+
+        // setup
+        final List<String> visited = new ArrayList<>();
+        TypeUtils.Visitor<Field> visitor = new TypeUtils.Visitor<Field>() {
+            @Override
+            public TypeUtils.Visit visit(final Field current) {
+
+                visited.add( current.getName() );
+                return TypeUtils.Visit.CONTINUE;
+            }
+        };
+
+        // operate
+        boolean descendStopped = TypeUtils.visitFieldsOf( ChildObject.class, visitor, true );
+        List<String> descended = ImmutableList.copyOf( visited );
+        visited.clear();
+        boolean declaredStopped = TypeUtils.visitFieldsOf( ChildObject.class, visitor, false );
+
+        // verify
+        assertFalse( descendStopped );
+        assertEquals( ImmutableList.of( "first", "child", "base" ), descended );
+        assertFalse( declaredStopped );
+        assertEquals( ImmutableList.of( "first", "child" ), visited );
+    }
+
+    @Test
+    public void testFindFirstField()
+            throws Exception {
+
+        // setup
+        ChildObject owner = new ChildObject();
+
+        // verify
+        assertEquals( ChildObject.class.getDeclaredField( "first" ), TypeUtils.findFirstField( owner, owner.first ) );
+        assertEquals( ChildObject.class.getDeclaredField( "child" ), TypeUtils.findFirstField( owner, owner.child ) );
+        assertEquals( BaseObject.class.getDeclaredField( "base" ), TypeUtils.findFirstField( owner, owner.base ) );
+        assertNull( TypeUtils.findFirstField( owner, "none" ) );
+
+        // The search stops at the first field that holds the value, it doesn't go on into the supertypes.
+        owner.base = owner.child;
+        assertEquals( ChildObject.class.getDeclaredField( "child" ), TypeUtils.findFirstField( owner, owner.child ) );
+    }
+
+    @Test
+    public void testForEachWithBreak()
+            throws Exception {
+
+        // setup
+        final List<Class<?>> types = new ArrayList<>();
+
+        // operate
+        String typeResult = TypeUtils.forEachSuperTypeOf( ChildObject.class, new Function<TypeUtils.LastResult<Class<?>, String>, String>() {
+            @Override
+            public String apply(final TypeUtils.LastResult<Class<?>, String> lastResult) {
+
+                types.add( lastResult.getCurrent() );
+                if (lastResult.getCurrent() == BaseObject.class)
+                    throw new TypeUtils.BreakException( lastResult.getLastResult() + "!" );
+
+                return lastResult.getLastResult() + lastResult.getCurrent().getSimpleName();
+            }
+        }, null, ">" );
+        // A break only ends the fields of the type it's thrown for, the fields of its supertypes are still iterated.
+        String fieldResult = TypeUtils.forEachFieldOf( ChildObject.class, new Function<TypeUtils.LastResult<Field, String>, String>() {
+            @Override
+            public String apply(final TypeUtils.LastResult<Field, String> lastResult) {
+
+                if ("first".equals( lastResult.getCurrent().getName() ))
+                    throw new TypeUtils.BreakException( lastResult.getLastResult() + "!" );
+
+                return lastResult.getLastResult() + lastResult.getCurrent().getName();
+            }
+        }, ">", true );
+
+        // verify
+        assertEquals( ImmutableList.of( ChildObject.class, BaseObject.class ), types );
+        assertEquals( ">ChildObject!", typeResult );
+        assertEquals( ">!base", fieldResult );
+    }
+
+    @Test
+    public void testFindAnnotation()
+            throws Exception {
+
+        // verify
+        assertEquals( "base", TypeUtils.findAnnotation( ChildObject.class, Tag.class ).value() );
+        assertEquals( "interface", TypeUtils.findAnnotation( Tagged.class, Tag.class ).value() );
+        assertNull( TypeUtils.findAnnotation( Object.class, Tag.class ) );
+        assertTrue( TypeUtils.hasAnnotation( ChildObject.class, Tag.class ) );
+        assertFalse( TypeUtils.hasAnnotation( String.class, Tag.class ) );
+
+        Map<Class<? super ChildObject>, Map<Class<?>, Tag>> annotations = TypeUtils.getAnnotations( ChildObject.class, Tag.class );
+        assertEquals( ImmutableList.of( ChildObject.class, BaseObject.class, Object.class ), ImmutableList.copyOf( annotations.keySet() ) );
+        assertEquals( ImmutableMap.of(), annotations.get( ChildObject.class ) );
+        assertEquals( ImmutableMap.of( BaseObject.class, BaseObject.class.getAnnotation( Tag.class ), //
+                Tagged.class, Tagged.class.getAnnotation( Tag.class ) ), annotations.get( BaseObject.class ) );
+        assertEquals( ImmutableMap.of(), annotations.get( Object.class ) );
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Tag {
+
+        String value();
+    }
+
+
+    @Tag("interface")
+    public interface Tagged {
+
+    }
+
+
+    @Tag("base")
+    public static class BaseObject implements Tagged {
+
+        static String constant = "constant";
+
+        String base = "base";
+    }
+
+
+    public static class ChildObject extends BaseObject {
+
+        String first = "first";
+        String child = "child";
+    }
+}